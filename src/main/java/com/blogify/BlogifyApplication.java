@@ -3,13 +3,13 @@ package com.blogify;
 import com.blogify.entity.Role;
 import com.blogify.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +19,8 @@ import java.util.List;
 )
 @RequiredArgsConstructor
 @EnableAsync
+@EnableCaching
+@EnableScheduling
 public class BlogifyApplication implements CommandLineRunner {
 
 	private final RoleRepository roleRepository;
@@ -27,12 +29,6 @@ public class BlogifyApplication implements CommandLineRunner {
 		SpringApplication.run(BlogifyApplication.class, args);
 	}
 
-	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
-	}
-
-
 	@Override
 	public void run(String... args) throws Exception {
 		initializeRoles();
@@ -0,0 +1,68 @@
+package com.blogify.config;
+
+import com.blogify.entity.Category;
+import com.blogify.entity.Role;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for read-mostly entities and their lookups by name, kept in
+ * process by Caffeine behind JCache. Every region is created here with a size bound, Hibernate
+ * is not allowed to create any other, so a new cached entity has to be given a region below.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final List<String> BOUNDED_REGIONS = List.of(
+            Category.CACHE_REGION,
+            Role.CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${app.entity-cache.maximum-size:1000}") long maximumSize) {
+        // a manager of its own, contexts sharing a class loader, as tests do, must not share cached rows
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("blogify:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : BOUNDED_REGIONS) {
+            cacheManager.createCache(region, configuration(OptionalLong.of(maximumSize)));
+        }
+        // one timestamp per table, evicting one would let stale query results through
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                                 configuration(OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(OptionalLong maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // hibernate stores immutable disassembled entries, copying them on every access is wasted work
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maximumSize);
+        return configuration;
+    }
+}
@@ -2,26 +2,49 @@ package com.blogify.controller;
 
 import com.blogify.entity.Article;
 import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleExportDto;
+import com.blogify.payload.ArticleImportReport;
+import com.blogify.payload.ArticleSuggestionDto;
+import com.blogify.payload.CommentDto;
+import com.blogify.payload.ArticleSummaryDto;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.ErrorResponse;
 import com.blogify.payload.ResponsePage;
+import com.blogify.service.ArticleImporter;
 import com.blogify.service.ArticleService;
+import com.blogify.service.CommentService;
+import com.blogify.service.EntityExporter;
+import com.blogify.service.MergePatcher;
+import com.blogify.util.ETagUtil;
 import com.blogify.util.PageUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/articles")
@@ -30,46 +53,209 @@ import org.springframework.web.bind.annotation.*;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final CommentService commentService;
+    private final ArticleImporter articleImporter;
+    private final EntityExporter entityExporter;
 
     @Operation(
             summary = "Get all articles",
-            description = "Retrieve a paginated list of articles with optional sorting",
+            description = "Retrieve a paginated list of article summaries with optional sorting. Content and comments are only returned by the single article endpoint.",
             parameters = {
                     @Parameter(name = "page", description = "Page number for pagination", example = "0"),
-                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.", example = "title,asc")
+                    @Parameter(name = "count", description = "Set to false to skip totals and only report whether a next page exists", example = "false"),
+                    @Parameter(name = "cursor", description = "Switches to cursor pagination. Leave empty for the first page, then pass the returned nextCursor. The page parameter is ignored in this mode."),
+                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported. Only the id and indexed properties, such as viewCount and commentCount, can be sorted on.", example = "title,asc"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a page the client already has, answered with 304 while the page is unchanged. Not supported in cursor mode.")
             }
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of articles", content = @Content(schema = @Schema(implementation = ResponsePage.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Article not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<ResponsePage<ArticleDto>> findAll(
+    public ResponseEntity<ResponsePage<ArticleSummaryDto>> findAll(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
-            @RequestParam(value = "sort", required = false) String[] sort
+            @RequestParam(value = "sort", required = false) String[] sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "true") boolean count,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         Sort sortOrder = PageUtil.parseSort(sort, Article.class);
-        return ResponseEntity.ok(articleService.findAll(page, sortOrder));
+        if (cursor != null) {
+            return ResponseEntity.ok(articleService.findAllByCursor(cursor, sortOrder));
+        }
+        // without If-None-Match there is nothing to compare, the tag comes from the page that is loaded anyway
+        if (ifNoneMatch != null) {
+            String etag = articleService.findPageETag(page, sortOrder, count);
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+        }
+        return ETagUtil.ok(articleService.findTaggedPage(page, sortOrder, count));
+    }
+
+    @Operation(
+            summary = "Search articles",
+            description = "Full-text search over article title, description and content. Results are ranked by relevance, title matches weigh the most.",
+            parameters = {
+                    @Parameter(name = "q", description = "Search terms", required = true, example = "java streams"),
+                    @Parameter(name = "limit", description = "Maximum number of results, at most 50", example = "10")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched articles", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSummaryDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Empty search query", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<ArticleSummaryDto>> search(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(articleService.search(query, limit));
+    }
+
+    @Operation(
+            summary = "Suggest article titles",
+            description = "Autocomplete article titles starting with the given prefix, ignoring case. Served from memory without a database query.",
+            parameters = {
+                    @Parameter(name = "prefix", description = "Beginning of the title", required = true, example = "Jav"),
+                    @Parameter(name = "limit", description = "Maximum number of suggestions, at most 50", example = "10")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSuggestionDto.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ArticleSuggestionDto>> suggest(
+            @RequestParam(value = "prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(articleService.suggest(prefix, limit));
+    }
+
+    @Operation(
+            summary = "Get trending articles",
+            description = "Articles ranked by recent views and comments. Older activity counts less, halving in weight every few hours.",
+            parameters = {
+                    @Parameter(name = "limit", description = "Maximum number of articles, at most 50", example = "10")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved trending articles", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ArticleSummaryDto.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/trending")
+    public ResponseEntity<List<ArticleSummaryDto>> findTrending(
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(articleService.findTrending(limit));
+    }
+
+    @Operation(
+            summary = "Export all articles",
+            description = "Stream every article in id order as newline delimited JSON or CSV with a header row. Rows are read from a database cursor and written as they are read, so the whole table can be exported in one request instead of paging through it.",
+            parameters = {
+                    @Parameter(name = "format", description = "ndjson or csv", example = "csv")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully exported articles", content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ArticleExportDto.class)), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        EntityExporter.Format exportFormat = EntityExporter.Format.of(format);
+        response.setContentType(exportFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("articles." + exportFormat.getExtension())
+                .build()
+                .toString());
+        entityExporter.exportArticles(exportFormat, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Get articles by IDs",
+            description = "Retrieve up to 100 articles in one request. Summaries are returned, like in the list, and the lookup does not count as a view. Found articles are returned in the order of the requested ids and ids that do not exist are listed separately.",
+            parameters = {
+                    @Parameter(name = "ids", description = "Comma separated IDs of the articles to be retrieved", required = true, example = "1,2,3")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved articles", content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No ids or more than 100 ids", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<ArticleSummaryDto>> findAllById(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(articleService.findAllById(ids));
     }
 
     @Operation(
             summary = "Get an article by ID",
-            description = "Retrieve an article by its ID",
+            description = "Retrieve an article by its ID. Each call counts as a view of the article, also when it is answered with 304. The ETag is weak: it changes with the article and its comments, but not with the view count.",
             parameters = {
-                    @Parameter(name = "articleId", description = "ID of the article to be retrieved", required = true)
+                    @Parameter(name = "articleId", description = "ID of the article to be retrieved", required = true),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a copy the client already has, answered with 304 while it is current")
             }
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved article", content = @Content(schema = @Schema(implementation = ArticleDto.class))),
+            @ApiResponse(responseCode = "304", description = "Article not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Article not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{articleId}")
-    public ResponseEntity<ArticleDto> findById(@PathVariable Long articleId) {
-        return ResponseEntity.ok(articleService.findById(articleId));
+    public ResponseEntity<ArticleDto> findById(
+            @PathVariable Long articleId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String etag = articleService.findETag(articleId);
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                // the client shows the copy it already has, which is still a view
+                articleService.recordView(articleId);
+                return ETagUtil.notModified(etag);
+            }
+        }
+        return ETagUtil.ok(articleService.viewTaggedById(articleId));
+    }
+
+    @Operation(
+            summary = "Get comments of an article",
+            description = "Retrieve the comments of an article, oldest first, 10 per page. Pass the returned nextCursor to get the next page.",
+            parameters = {
+                    @Parameter(name = "articleId", description = "ID of the article", required = true),
+                    @Parameter(name = "cursor", description = "nextCursor of the previous page, omit for the first page")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved comments", content = @Content(schema = @Schema(implementation = ResponsePage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Article not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{articleId}/comments")
+    public ResponseEntity<ResponsePage<CommentDto>> findComments(
+            @PathVariable Long articleId,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        return ResponseEntity.ok(commentService.findAllByArticle(articleId, cursor));
     }
 
     @Operation(
@@ -89,11 +275,29 @@ public class ArticleController {
         return new ResponseEntity<>(articleService.create(articleDto), HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Import articles",
+            description = "Import articles from newline delimited JSON, one article per line in the format of the create endpoint. Articles are inserted in batches as the body is read, so uploads of any size are accepted. Lines that are invalid or rejected, for example for a title already in use, are reported and skipped.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "One article per line", required = true, content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ArticleDto.class)))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for failed lines", content = @Content(schema = @Schema(implementation = ArticleImportReport.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Body not sent as application/x-ndjson", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
+    public ResponseEntity<ArticleImportReport> importArticles(InputStream body) throws IOException {
+        return ResponseEntity.ok(articleImporter.importArticles(body));
+    }
+
     @Operation(
             summary = "Update an article",
             description = "Update an article's information by its ID",
             parameters = {
-                    @Parameter(name = "articleId", description = "ID of the article to be updated", required = true)
+                    @Parameter(name = "articleId", description = "ID of the article to be updated", required = true),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER, description = "ETag of the copy the change is based on, the change is rejected with 412 once the article was modified since. Only the article version at the front of the weak ETag is compared. Without it the change is applied unconditionally.")
             },
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Updated details of the article", required = true, content = @Content(schema = @Schema(implementation = ArticleDto.class)))
     )
@@ -102,13 +306,40 @@ public class ArticleController {
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "404", description = "Article not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "404", description = "Article not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Article modified since the ETag in If-Match", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PutMapping("/{articleId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
     public ResponseEntity<ArticleDto> update(@PathVariable Long articleId,
-                                             @Valid @RequestBody ArticleDto articleDto) {
-        return ResponseEntity.ok(articleService.update(articleId, articleDto));
+                                             @Valid @RequestBody ArticleDto articleDto,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(articleService.update(articleId, articleDto, ETagUtil.parseWeakVersions(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Partially update an article",
+            description = "Apply a JSON merge patch (RFC 7396) to an article. Only the given fields are changed, for example just the title, without resending the content. Patchable fields are title, description, content and categoryId, a null categoryId removes the category. Only the changed columns are written.",
+            parameters = {
+                    @Parameter(name = "articleId", description = "ID of the article to be patched", required = true),
+                    @Parameter(name = HttpHeaders.IF_MATCH, in = ParameterIn.HEADER, description = "ETag of the copy the change is based on, the change is rejected with 412 once the article was modified since. Only the article version at the front of the weak ETag is compared. Without it the change is applied unconditionally.")
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields of the article to change", required = true, content = @Content(mediaType = MergePatcher.MERGE_PATCH_JSON, schema = @Schema(implementation = ArticleDto.class)))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully patched article", content = @Content(schema = @Schema(implementation = ArticleDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Article not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Article modified since the ETag in If-Match", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Patch not sent as application/merge-patch+json", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping(value = "/{articleId}", consumes = MergePatcher.MERGE_PATCH_JSON)
+    @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
+    public ResponseEntity<ArticleDto> patch(@PathVariable Long articleId, @RequestBody JsonNode patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(articleService.patch(articleId, patch, ETagUtil.parseWeakVersions(ifMatch)));
     }
 
     @Operation(
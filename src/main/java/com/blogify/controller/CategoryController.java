@@ -1,13 +1,18 @@
 package com.blogify.controller;
 
 import com.blogify.entity.Category;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.CategoryDto;
 import com.blogify.payload.ErrorResponse;
 import com.blogify.payload.ResponsePage;
 import com.blogify.service.CategoryService;
+import com.blogify.service.MergePatcher;
+import com.blogify.util.ETagUtil;
 import com.blogify.util.PageUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,11 +22,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/categories")
@@ -36,11 +44,17 @@ public class CategoryController {
             description = "Retrieve a paginated list of categories with optional sorting",
             parameters = {
                     @Parameter(name = "page", description = "Page number for pagination", example = "0"),
-                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.", example = "name,asc")
+                    @Parameter(name = "count", description = "Set to false to skip totals and only report whether a next page exists", example = "false"),
+                    @Parameter(name = "cursor", description = "Switches to cursor pagination. Leave empty for the first page, then pass the returned nextCursor. The page parameter is ignored in this mode."),
+                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported. Only the id and indexed properties can be sorted on.", example = "name,asc"),
+                    @Parameter(name = "expand", description = "Set to articles to include the summaries of the first 10 articles by id of each category, loaded in one query. The article count always covers all of them.", example = "articles"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a page the client already has, answered with 304 while the page is unchanged. Not supported in cursor mode.")
             }
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of categories", content = @Content(schema = @Schema(implementation = ResponsePage.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag in If-None-Match", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or expand value", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -48,28 +62,80 @@ public class CategoryController {
     @GetMapping
     public ResponseEntity<ResponsePage<CategoryDto>> findAll(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
-            @RequestParam(value = "sort", required = false) String[] sort
+            @RequestParam(value = "sort", required = false) String[] sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "true") boolean count,
+            @RequestParam(value = "expand", required = false) List<String> expand,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         Sort sortOrder = PageUtil.parseSort(sort, Category.class);
-        return ResponseEntity.ok(categoryService.findAll(page, sortOrder));
+        boolean expandArticles = CategoryService.expandsArticles(expand);
+        if (cursor != null) {
+            return ResponseEntity.ok(categoryService.findAllByCursor(cursor, sortOrder, expandArticles));
+        }
+        // without If-None-Match there is nothing to compare, the tag comes from the page that is loaded anyway
+        if (ifNoneMatch != null) {
+            String etag = categoryService.findPageETag(page, sortOrder, count, expandArticles);
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+        }
+        return ETagUtil.ok(categoryService.findTaggedPage(page, sortOrder, count, expandArticles));
+    }
+
+    @Operation(
+            summary = "Get categories by IDs",
+            description = "Retrieve up to 100 categories in one request. Found categories are returned in the order of the requested ids and ids that do not exist are listed separately.",
+            parameters = {
+                    @Parameter(name = "ids", description = "Comma separated IDs of the categories to be retrieved", required = true, example = "1,2,3"),
+                    @Parameter(name = "expand", description = "Set to articles to include the summaries of the first 10 articles by id of each category, loaded in one query. The article count always covers all of them.", example = "articles")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved categories", content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No ids, more than 100 ids or an unknown expand value", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<CategoryDto>> findAllById(
+            @RequestParam("ids") List<Long> ids,
+            @RequestParam(value = "expand", required = false) List<String> expand
+    ) {
+        return ResponseEntity.ok(categoryService.findAllById(ids, CategoryService.expandsArticles(expand)));
     }
 
     @Operation(
             summary = "Get a category by ID",
             description = "Retrieve a category by its ID",
             parameters = {
-                    @Parameter(name = "categoryId", description = "ID of the category to be retrieved", required = true)
+                    @Parameter(name = "categoryId", description = "ID of the category to be retrieved", required = true),
+                    @Parameter(name = "expand", description = "Set to articles to include the summaries of the first 10 articles by id of each category, loaded in one query. The article count always covers all of them.", example = "articles"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a copy the client already has, answered with 304 while it is current")
             }
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved category", content = @Content(schema = @Schema(implementation = CategoryDto.class))),
+            @ApiResponse(responseCode = "304", description = "Category not modified since the ETag in If-None-Match", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown expand value", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{categoryId}")
-    public ResponseEntity<CategoryDto> findById(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(categoryService.findById(categoryId));
+    public ResponseEntity<CategoryDto> findById(
+            @PathVariable Long categoryId,
+            @RequestParam(value = "expand", required = false) List<String> expand,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        boolean expandArticles = CategoryService.expandsArticles(expand);
+        if (ifNoneMatch != null) {
+            String etag = categoryService.findETag(categoryId, expandArticles);
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+        }
+        return ETagUtil.ok(categoryService.findTaggedById(categoryId, expandArticles));
     }
 
     @Operation(
@@ -110,6 +176,28 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.update(categoryId, categoryDto));
     }
 
+    @Operation(
+            summary = "Partially update a category",
+            description = "Apply a JSON merge patch (RFC 7396) to a category. Only the given fields are changed. The name is the only patchable field. Only the changed columns are written.",
+            parameters = {
+                    @Parameter(name = "categoryId", description = "ID of the category to be patched", required = true)
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields of the category to change", required = true, content = @Content(mediaType = MergePatcher.MERGE_PATCH_JSON, schema = @Schema(implementation = CategoryDto.class)))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully patched category", content = @Content(schema = @Schema(implementation = CategoryDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Patch not sent as application/merge-patch+json", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping(value = "/{categoryId}", consumes = MergePatcher.MERGE_PATCH_JSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryDto> patch(@PathVariable Long categoryId, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(categoryService.patch(categoryId, patch));
+    }
+
     @Operation(
             summary = "Delete a category",
             description = "Delete a category by its ID",
@@ -3,28 +3,42 @@ package com.blogify.controller;
 import com.blogify.entity.Comment;
 import com.blogify.entity.Customer;
 import com.blogify.payload.CommentDto;
+import com.blogify.payload.CommentExportDto;
 import com.blogify.payload.ErrorResponse;
 import com.blogify.payload.ResponsePage;
+import com.blogify.security.JwtPrincipal;
 import com.blogify.service.CommentService;
 import com.blogify.service.CustomerService;
+import com.blogify.service.EntityExporter;
+import com.blogify.service.MergePatcher;
+import com.blogify.util.ETagUtil;
 import com.blogify.util.PageUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/comments")
@@ -34,17 +48,22 @@ public class CommentController {
 
     private final CommentService commentService;
     private final CustomerService customerService;
+    private final EntityExporter entityExporter;
 
     @Operation(
             summary = "Get all comments",
             description = "Retrieve a paginated list of comments with optional sorting",
             parameters = {
                     @Parameter(name = "page", description = "Page number for pagination", example = "0"),
-                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.", example = "createdAt,desc")
+                    @Parameter(name = "count", description = "Set to false to skip totals and only report whether a next page exists", example = "false"),
+                    @Parameter(name = "cursor", description = "Switches to cursor pagination. Leave empty for the first page, then pass the returned nextCursor. The page parameter is ignored in this mode."),
+                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported. Only the id and indexed properties can be sorted on.", example = "fullName,asc"),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a page the client already has, answered with 304 while the page is unchanged. Not supported in cursor mode.")
             }
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of comments", content = @Content(schema = @Schema(implementation = ResponsePage.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -52,28 +71,79 @@ public class CommentController {
     @GetMapping
     public ResponseEntity<ResponsePage<CommentDto>> findAll(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
-            @RequestParam(value = "sort", required = false) String[] sort
+            @RequestParam(value = "sort", required = false) String[] sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "true") boolean count,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         Sort sortOrder = PageUtil.parseSort(sort, Comment.class);
-        return ResponseEntity.ok(commentService.findAll(page, sortOrder));
+        if (cursor != null) {
+            return ResponseEntity.ok(commentService.findAllByCursor(cursor, sortOrder));
+        }
+        // without If-None-Match there is nothing to compare, the tag comes from the page that is loaded anyway
+        if (ifNoneMatch != null) {
+            String etag = commentService.findPageETag(page, sortOrder, count);
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+        }
+        return ETagUtil.ok(commentService.findTaggedPage(page, sortOrder, count));
+    }
+
+    @Operation(
+            summary = "Export all comments",
+            description = "Stream every comment in id order as newline delimited JSON or CSV with a header row. Rows are read from a database cursor and written as they are read, so the whole table can be exported in one request instead of paging through it.",
+            parameters = {
+                    @Parameter(name = "format", description = "ndjson or csv", example = "csv")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully exported comments", content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = CommentExportDto.class)), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        EntityExporter.Format exportFormat = EntityExporter.Format.of(format);
+        response.setContentType(exportFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("comments." + exportFormat.getExtension())
+                .build()
+                .toString());
+        entityExporter.exportComments(exportFormat, response.getOutputStream());
     }
 
     @Operation(
             summary = "Get a comment by ID",
             description = "Retrieve a comment by its ID",
             parameters = {
-                    @Parameter(name = "commentId", description = "ID of the comment to be retrieved", required = true)
+                    @Parameter(name = "commentId", description = "ID of the comment to be retrieved", required = true),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a copy the client already has, answered with 304 while it is current")
             }
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved comment", content = @Content(schema = @Schema(implementation = CommentDto.class))),
+            @ApiResponse(responseCode = "304", description = "Comment not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{commentId}")
-    public ResponseEntity<CommentDto> findById(@PathVariable Long commentId) {
-        return ResponseEntity.ok(commentService.findById(commentId));
+    public ResponseEntity<CommentDto> findById(
+            @PathVariable Long commentId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String etag = commentService.findETag(commentId);
+            if (ETagUtil.matches(ifNoneMatch, etag)) {
+                return ETagUtil.notModified(etag);
+            }
+        }
+        return ETagUtil.ok(commentService.findTaggedById(commentId));
     }
 
     @Operation(
@@ -89,8 +159,7 @@ public class CommentController {
     })
     @PostMapping
     public ResponseEntity<CommentDto> create(@Valid @RequestBody CommentDto comment, Authentication authentication) {
-        Customer authenticatedCustomer = getAuthenticatedCustomer(authentication);
-        comment.setFullName(authenticatedCustomer.getFullName());
+        comment.setFullName(getAuthenticatedFullName(authentication));
         return new ResponseEntity<>(commentService.create(comment), HttpStatus.CREATED);
     }
 
@@ -107,16 +176,38 @@ public class CommentController {
             @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Comment moved to another article concurrently, retry", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PutMapping("/{commentId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
     public ResponseEntity<CommentDto> update(@PathVariable Long commentId, @Valid @RequestBody CommentDto comment, Authentication authentication) {
-        Customer authenticatedCustomer = getAuthenticatedCustomer(authentication);
-        comment.setFullName(authenticatedCustomer.getFullName());
+        comment.setFullName(getAuthenticatedFullName(authentication));
         return ResponseEntity.ok(commentService.update(commentId, comment));
     }
 
+    @Operation(
+            summary = "Partially update a comment",
+            description = "Apply a JSON merge patch (RFC 7396) to a comment. Only the given fields are changed. The content is the only patchable field, the author and the article stay the same. Only the changed columns are written.",
+            parameters = {
+                    @Parameter(name = "commentId", description = "ID of the comment to be patched", required = true)
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields of the comment to change", required = true, content = @Content(mediaType = MergePatcher.MERGE_PATCH_JSON, schema = @Schema(implementation = CommentDto.class)))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully patched comment", content = @Content(schema = @Schema(implementation = CommentDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Comment not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Patch not sent as application/merge-patch+json", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping(value = "/{commentId}", consumes = MergePatcher.MERGE_PATCH_JSON)
+    @PreAuthorize("hasAnyRole('ADMIN', 'EDITOR')")
+    public ResponseEntity<CommentDto> patch(@PathVariable Long commentId, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(commentService.patch(commentId, patch));
+    }
+
     @Operation(
             summary = "Delete a comment",
             description = "Delete a comment by its ID",
@@ -137,8 +228,14 @@ public class CommentController {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
-    private Customer getAuthenticatedCustomer(Authentication authentication) {
-        String email = authentication.getName();
-        return customerService.findByEmail(email);
+    // the authenticated principal already carries the name, only other principals need a lookup
+    private String getAuthenticatedFullName(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.getFullName();
+        }
+        if (authentication.getPrincipal() instanceof Customer customer) {
+            return customer.getFullName();
+        }
+        return customerService.findByEmail(authentication.getName()).getFullName();
     }
 }
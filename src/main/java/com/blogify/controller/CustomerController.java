@@ -1,11 +1,14 @@
 package com.blogify.controller;
 
 import com.blogify.entity.Customer;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.CustomerDto;
 import com.blogify.payload.ErrorResponse;
 import com.blogify.payload.ResponsePage;
 import com.blogify.service.CustomerService;
+import com.blogify.service.MergePatcher;
 import com.blogify.util.PageUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,6 +25,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/customers")
@@ -36,7 +41,9 @@ public class CustomerController {
             description = "Retrieve a paginated list of customers with optional sorting",
             parameters = {
                     @Parameter(name = "page", description = "Page number for pagination", example = "0"),
-                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported.", example = "lastName,asc")
+                    @Parameter(name = "count", description = "Set to false to skip totals and only report whether a next page exists", example = "false"),
+                    @Parameter(name = "cursor", description = "Switches to cursor pagination. Leave empty for the first page, then pass the returned nextCursor. The page parameter is ignored in this mode."),
+                    @Parameter(name = "sort", description = "Sorting criteria in the format: [property...],(asc|desc). Default sort order is ascending. Multiple sort criteria are supported. Only the id and indexed properties can be sorted on.", example = "lastName,asc")
             }
     )
     @ApiResponses(value = {
@@ -48,12 +55,39 @@ public class CustomerController {
     @GetMapping
     public ResponseEntity<ResponsePage<CustomerDto>> findAll(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
-            @RequestParam(value = "sort", required = false) String[] sort
+            @RequestParam(value = "sort", required = false) String[] sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "true") boolean count
     ) {
         Sort sortOrder = PageUtil.parseSort(sort, Customer.class);
+        if (cursor != null) {
+            return ResponseEntity.ok(customerService.findAllByCursor(cursor, sortOrder));
+        }
+        if (!count) {
+            return ResponseEntity.ok(customerService.findSlice(page, sortOrder));
+        }
         return ResponseEntity.ok(customerService.findAll(page, sortOrder));
     }
 
+    @Operation(
+            summary = "Get customers by IDs",
+            description = "Retrieve up to 100 customers in one request. Found customers are returned in the order of the requested ids and ids that do not exist are listed separately.",
+            parameters = {
+                    @Parameter(name = "ids", description = "Comma separated IDs of the customers to be retrieved", required = true, example = "1,2,3")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved customers", content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No ids or more than 100 ids", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchResponse<CustomerDto>> findAllById(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(customerService.findAllById(ids));
+    }
+
     @Operation(
             summary = "Get a customer by ID",
             description = "Retrieve a customer by their ID",
@@ -115,4 +149,26 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.update(customerId, customerDto));
     }
 
+    @Operation(
+            summary = "Partially update a customer",
+            description = "Apply a JSON merge patch (RFC 7396) to a customer. Only the given fields are changed. Patchable fields are email, password, firstName, lastName and roles, the password is kept unless given. Only the changed columns are written.",
+            parameters = {
+                    @Parameter(name = "customerId", description = "ID of the customer to be patched", required = true)
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Fields of the customer to change", required = true, content = @Content(mediaType = MergePatcher.MERGE_PATCH_JSON, schema = @Schema(implementation = CustomerDto.class)))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully patched customer", content = @Content(schema = @Schema(implementation = CustomerDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid patch", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized / Invalid Token", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden access", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "415", description = "Patch not sent as application/merge-patch+json", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping(value = "/{customerId}", consumes = MergePatcher.MERGE_PATCH_JSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CustomerDto> patchCustomer(@PathVariable Long customerId, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(customerService.patch(customerId, patch));
+    }
+
 }
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.proxy.HibernateProxy;
@@ -17,11 +19,21 @@ import java.util.Objects;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@DynamicUpdate
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", uniqueConstraints = {
+        @UniqueConstraint(name = Article.UNIQUE_TITLE, columnNames = "title")
+}, indexes = {
+        @Index(name = "idx_articles_view_count", columnList = "view_count"),
+        @Index(name = "idx_articles_comment_count", columnList = "comment_count")
+})
 public class Article extends BaseEntity {
 
-    @Column(name = "title", nullable = false, length = 64, unique = true)
+    // named so that violations can be told apart when an insert or update fails
+    public static final String UNIQUE_TITLE = "uk_articles_title";
+    public static final String CATEGORY_FOREIGN_KEY = "fk_articles_category_id";
+
+    @Column(name = "title", nullable = false, length = 64)
     private String title;
 
     @Column(name = "description", nullable = false, length = 255)
@@ -30,8 +42,18 @@ public class Article extends BaseEntity {
     @Column(name = "content", nullable = false, columnDefinition = "LONGTEXT")
     private String content;
 
+    // incremented in batches by ArticleViewCounter, never written through the entity
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long viewCount;
+
+    // maintained by CommentService and CommentCountReconciler, never written through the entity
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long commentCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "category_id")
+    @JoinColumn(name = "category_id", foreignKey = @ForeignKey(name = CATEGORY_FOREIGN_KEY))
     @OnDelete(action = OnDeleteAction.SET_NULL)
     private Category category;
 
@@ -7,16 +7,23 @@ import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
 @RequiredArgsConstructor
 @Getter
 @Setter
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
 @Entity
 @Table(name = "categories")
 public class Category extends BaseEntity {
 
+    public static final String CACHE_REGION = "categories";
+
     @Column(name = "name", nullable = false, unique = true, length = 255)
     private String name;
 
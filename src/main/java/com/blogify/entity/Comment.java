@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.Objects;
@@ -13,20 +14,27 @@ import java.util.Objects;
 @AllArgsConstructor
 @Getter
 @Setter
+@DynamicUpdate
 @Entity
 @Table(name = "comments", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"full_name", "article_id"})
+        @UniqueConstraint(name = Comment.UNIQUE_AUTHOR_PER_ARTICLE, columnNames = {"full_name", "article_id"})
+}, indexes = {
+        @Index(name = "idx_comments_article_id_id", columnList = "article_id, id")
 })
 public class Comment extends BaseEntity {
 
+    // named so that violations can be told apart when an insert or update fails
+    public static final String UNIQUE_AUTHOR_PER_ARTICLE = "uk_comments_full_name_article_id";
+    public static final String ARTICLE_FOREIGN_KEY = "fk_comments_article_id";
+
     @Column(name = "full_name", nullable = false, length = 255)
     private String fullName;
 
     @Column(name = "content", nullable = false, length = 500)
     private String content;
 
-    @ManyToOne
-    @JoinColumn(name = "article_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "article_id", nullable = false, foreignKey = @ForeignKey(name = ARTICLE_FOREIGN_KEY))
     private Article article;
 
     @Override
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -22,8 +23,12 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @Getter
 @Setter
+@DynamicUpdate
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_first_name", columnList = "first_name"),
+        @Index(name = "idx_customers_last_name", columnList = "last_name")
+})
 public class Customer extends BaseEntity implements UserDetails, Principal {
 
     @Column(name = "email", unique = true, nullable = false, length = 255)
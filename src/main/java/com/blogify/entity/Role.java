@@ -6,6 +6,8 @@ import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.Objects;
@@ -13,10 +15,13 @@ import java.util.Objects;
 @NoArgsConstructor
 @Getter
 @Setter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 @Entity
 @Table(name = "roles")
 public class Role extends BaseEntity {
 
+    public static final String CACHE_REGION = "roles";
+
     @Column(name = "name", nullable = false, length = 255)
     private String name;
 
@@ -0,0 +1,20 @@
+package com.blogify.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Assigns a {@link TimeSortedIdGenerator time sorted} id before the insert, so the id is known
+ * without a round trip and inserts can be batched.
+ */
+@IdGeneratorType(TimeSortedIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeSortedId {
+}
@@ -0,0 +1,70 @@
+package com.blogify.mapper;
+
+import com.blogify.entity.Article;
+import com.blogify.entity.Category;
+import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleSummaryDto;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+
+@Mapper(config = MappingConfig.class, uses = CommentMapper.class)
+public interface ArticleMapper {
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "title", source = "title")
+    @Mapping(target = "description", source = "description")
+    @Mapping(target = "content", source = "content")
+    @Mapping(target = "categoryId", source = "category.id")
+    @Mapping(target = "viewCount", source = "viewCount")
+    @Mapping(target = "comments", source = "comments")
+    ArticleDto toDto(Article article);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "title", source = "title")
+    @Mapping(target = "description", source = "description")
+    @Mapping(target = "categoryId", source = "category.id")
+    @Mapping(target = "commentCount", source = "commentCount")
+    @Mapping(target = "version", source = "version")
+    ArticleSummaryDto toSummary(Article article);
+
+    // the writable fields only, patching an article does not load its comments
+    @Named("writable")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "title", source = "title")
+    @Mapping(target = "description", source = "description")
+    @Mapping(target = "content", source = "content")
+    @Mapping(target = "categoryId", source = "category.id")
+    ArticleDto toWritableDto(Article article);
+
+    // comments are managed through their own endpoints and never written through an article
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "title", source = "title")
+    @Mapping(target = "description", source = "description")
+    @Mapping(target = "content", source = "content")
+    @Mapping(target = "category", source = "categoryId")
+    Article toEntity(ArticleDto articleDto);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "title", source = "title")
+    @Mapping(target = "description", source = "description")
+    @Mapping(target = "content", source = "content")
+    @Mapping(target = "category", source = "categoryId")
+    void updateEntity(ArticleDto articleDto, @MappingTarget Article article);
+
+    default Category toCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+
+        Category category = new Category();
+        category.setId(categoryId);
+        return category;
+    }
+}
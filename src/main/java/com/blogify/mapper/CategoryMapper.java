@@ -0,0 +1,27 @@
+package com.blogify.mapper;
+
+import com.blogify.entity.Category;
+import com.blogify.payload.CategoryDto;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(config = MappingConfig.class)
+public interface CategoryMapper {
+
+    // articles are never reached through the entity, CategoryService loads counts or summaries in one query
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "name", source = "name")
+    CategoryDto toDto(Category category);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "name", source = "name")
+    Category toEntity(CategoryDto categoryDto);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "name", source = "name")
+    void updateEntity(CategoryDto categoryDto, @MappingTarget Category category);
+}
@@ -0,0 +1,42 @@
+package com.blogify.mapper;
+
+import com.blogify.entity.Article;
+import com.blogify.entity.Comment;
+import com.blogify.payload.CommentDto;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(config = MappingConfig.class)
+public interface CommentMapper {
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "content", source = "content")
+    @Mapping(target = "fullName", source = "fullName")
+    @Mapping(target = "articleId", source = "article.id")
+    CommentDto toDto(Comment comment);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "content", source = "content")
+    @Mapping(target = "fullName", source = "fullName")
+    @Mapping(target = "article", source = "articleId")
+    Comment toEntity(CommentDto commentDto);
+
+    // the author and the article of a comment are not changed by a patch
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "content", source = "content")
+    void updateEntity(CommentDto commentDto, @MappingTarget Comment comment);
+
+    default Article toArticle(Long articleId) {
+        if (articleId == null) {
+            return null;
+        }
+
+        Article article = new Article();
+        article.setId(articleId);
+        return article;
+    }
+}
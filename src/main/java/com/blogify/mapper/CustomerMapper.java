@@ -0,0 +1,46 @@
+package com.blogify.mapper;
+
+import com.blogify.entity.Customer;
+import com.blogify.payload.CustomerDto;
+import com.blogify.payload.RegistrationRequest;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(config = MappingConfig.class, uses = RoleMapper.class)
+public interface CustomerMapper {
+
+    // the password hash never leaves the service
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "email", source = "email")
+    @Mapping(target = "firstName", source = "firstName")
+    @Mapping(target = "lastName", source = "lastName")
+    @Mapping(target = "roles", source = "roles")
+    CustomerDto toDto(Customer customer);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "email", source = "email")
+    @Mapping(target = "password", source = "password")
+    @Mapping(target = "firstName", source = "firstName")
+    @Mapping(target = "lastName", source = "lastName")
+    @Mapping(target = "roles", source = "roles")
+    Customer toEntity(CustomerDto customerDto);
+
+    // the password is encoded by the service before it is set
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "email", source = "email")
+    @Mapping(target = "firstName", source = "firstName")
+    @Mapping(target = "lastName", source = "lastName")
+    @Mapping(target = "roles", source = "roles")
+    void updateEntity(CustomerDto customerDto, @MappingTarget Customer customer);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "email", source = "email")
+    @Mapping(target = "password", source = "password")
+    @Mapping(target = "firstName", source = "firstName")
+    @Mapping(target = "lastName", source = "lastName")
+    Customer fromRegistration(RegistrationRequest registrationRequest);
+}
@@ -0,0 +1,14 @@
+package com.blogify.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Shared settings of the generated mappers. Every mapping method lists its properties explicitly
+ * with {@code @BeanMapping(ignoreByDefault = true)}, so no association is traversed unless asked for.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING,
+              injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface MappingConfig {
+}
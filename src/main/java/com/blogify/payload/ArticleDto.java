@@ -48,6 +48,11 @@ public class ArticleDto extends EntityDto {
             nullable = true)
     private Long categoryId;
 
+    @Schema(description = "Number of times the article was viewed",
+            example = "42",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private long viewCount;
+
     @ArraySchema(schema = @Schema(description = "Comments on the article",
             nullable = true,
             implementation = CommentDto.class))
@@ -0,0 +1,45 @@
+package com.blogify.payload;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+// the property order is also the column order of CSV exports
+@JsonPropertyOrder({"id", "title", "description", "content", "categoryId", "viewCount", "commentCount"})
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Data
+public class ArticleExportDto extends EntityDto {
+
+    @Schema(description = "Title of the article", example = "Understanding Java Streams")
+    private String title;
+
+    @Schema(description = "Description of the article", example = "A comprehensive guide to Java Streams")
+    private String description;
+
+    @Schema(description = "Content of the article", example = "Java Streams are a powerful tool...")
+    private String content;
+
+    @Schema(description = "ID of the category to which the article belongs", example = "1", nullable = true)
+    private Long categoryId;
+
+    @Schema(description = "Number of times the article was viewed", example = "42")
+    private long viewCount;
+
+    @Schema(description = "Number of comments on the article", example = "3")
+    private long commentCount;
+
+    // used by JPQL constructor expressions
+    public ArticleExportDto(Long id, String title, String description, String content, Long categoryId,
+                            long viewCount, long commentCount) {
+        super(id);
+        this.title = title;
+        this.description = description;
+        this.content = content;
+        this.categoryId = categoryId;
+        this.viewCount = viewCount;
+        this.commentCount = commentCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.blogify.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ArticleImportFailure {
+
+    @Schema(description = "Line of the uploaded body, starting at 1", example = "42")
+    private long line;
+
+    @Schema(description = "Why the article was not imported", example = "Title already in use")
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.blogify.payload;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ArticleImportReport {
+
+    @Schema(description = "Number of imported articles", example = "99998")
+    private long imported;
+
+    @Schema(description = "Number of lines that were not imported", example = "2")
+    private long failed;
+
+    @ArraySchema(schema = @Schema(description = "Failed lines, at most the first 100 found",
+            implementation = ArticleImportFailure.class))
+    private List<ArticleImportFailure> failures;
+}
@@ -0,0 +1,20 @@
+package com.blogify.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Data
+public class ArticleSuggestionDto extends EntityDto {
+
+    @Schema(description = "Title of the article", example = "Understanding Java Streams")
+    private String title;
+
+    public ArticleSuggestionDto(Long id, String title) {
+        super(id);
+        this.title = title;
+    }
+}
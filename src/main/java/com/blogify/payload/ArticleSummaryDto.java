@@ -0,0 +1,48 @@
+package com.blogify.payload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Data
+public class ArticleSummaryDto extends EntityDto {
+
+    @Schema(description = "Title of the article", example = "Understanding Java Streams")
+    private String title;
+
+    @Schema(description = "Description of the article", example = "A comprehensive guide to Java Streams")
+    private String description;
+
+    @Schema(description = "ID of the category to which the article belongs", example = "1", nullable = true)
+    private Long categoryId;
+
+    @Schema(description = "Number of comments on the article", example = "3")
+    private long commentCount;
+
+    // not shown, only part of the ETag of a page that shows the summary
+    @JsonIgnore
+    private long version;
+
+    // used by JPQL constructor expressions, the comment count type depends on the query
+    public ArticleSummaryDto(Long id, String title, String description, Long categoryId, Number commentCount,
+                             long version) {
+        super(id);
+        this.title = title;
+        this.description = description;
+        this.categoryId = categoryId;
+        this.commentCount = commentCount == null ? 0 : commentCount.longValue();
+        this.version = version;
+    }
+
+    // the values of ArticleRepository.SummaryVersion, so a loaded page gets the tag its versions give
+    public List<Object> toValidator() {
+        return Arrays.asList(getId(), version, categoryId, commentCount);
+    }
+}
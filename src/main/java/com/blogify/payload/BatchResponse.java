@@ -0,0 +1,22 @@
+package com.blogify.payload;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BatchResponse<T> {
+
+    @ArraySchema(schema = @Schema(description = "Found entities, in the order their ids were requested", implementation = Object.class))
+    private List<T> content;
+
+    @ArraySchema(schema = @Schema(description = "Requested ids that were not found", example = "4"))
+    private List<Long> missingIds;
+
+}
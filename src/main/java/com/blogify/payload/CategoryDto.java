@@ -1,5 +1,6 @@
 package com.blogify.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
@@ -27,9 +28,15 @@ public class CategoryDto extends EntityDto {
     @Size(max = 255, message = "Category name cannot exceed 255 characters")
     private String name;
 
-    @ArraySchema(schema = @Schema(description = "Articles for the category",
+    @Schema(description = "Number of articles in the category",
+            example = "12",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private long articleCount;
+
+    @ArraySchema(schema = @Schema(description = "Summaries of the articles in the category, only with expand=articles",
             nullable = true,
-            implementation = ArticleDto.class))
-    private List<ArticleDto> articles;
+            implementation = ArticleSummaryDto.class))
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ArticleSummaryDto> articles;
 
-}
\ No newline at end of file
+}
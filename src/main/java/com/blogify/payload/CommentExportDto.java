@@ -0,0 +1,32 @@
+package com.blogify.payload;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+// the property order is also the column order of CSV exports
+@JsonPropertyOrder({"id", "articleId", "fullName", "content"})
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Data
+public class CommentExportDto extends EntityDto {
+
+    @Schema(description = "ID of the article to which the comment belongs", example = "1")
+    private Long articleId;
+
+    @Schema(description = "Full name of the commenter", example = "John Doe")
+    private String fullName;
+
+    @Schema(description = "Content of the comment", example = "This is a very insightful article!")
+    private String content;
+
+    // used by JPQL constructor expressions
+    public CommentExportDto(Long id, Long articleId, String fullName, String content) {
+        super(id);
+        this.articleId = articleId;
+        this.fullName = fullName;
+        this.content = content;
+    }
+}
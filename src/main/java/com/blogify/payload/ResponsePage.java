@@ -1,5 +1,6 @@
 package com.blogify.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -13,6 +14,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @AllArgsConstructor
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ResponsePage<T> {
 
     @Schema(description = "Current page number", example = "1")
@@ -27,7 +29,14 @@ public class ResponsePage<T> {
     @Schema(description = "Total number of pages", example = "10")
     private Integer totalPages;
 
+    @Schema(description = "Whether a next page exists", example = "true")
+    private Boolean hasNext;
+
     @ArraySchema(schema = @Schema(description = "Content of the current page", implementation = Object.class))
     private List<T> content;
 
+    @Schema(description = "Opaque token for the next page in cursor mode, absent on the last page",
+            example = "eyJ0aXRsZSI6IkphdmEiLCJpZCI6MTJ9")
+    private String nextCursor;
+
 }
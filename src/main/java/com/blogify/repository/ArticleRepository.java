@@ -1,13 +1,158 @@
 package com.blogify.repository;
 
 import com.blogify.entity.Article;
+import com.blogify.payload.ArticleExportDto;
+import com.blogify.payload.ArticleSummaryDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     Optional<Article> findByTitle(String title);
+
+    // looked up after a rejected write, which must not be flushed again by the query
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    boolean existsByTitleAndIdNot(String title, Long id);
+
+    Window<Article> findFirst10By(ScrollPosition position, Sort sort);
+
+    @Query("select new com.blogify.payload.ArticleSummaryDto(a.id, a.title, a.description, a.category.id, a.commentCount, a.version) " +
+           "from Article a")
+    Slice<ArticleSummaryDto> findSummariesBy(Pageable pageable);
+
+    @Query("select new com.blogify.payload.ArticleSummaryDto(a.id, a.title, a.description, a.category.id, a.commentCount, a.version) " +
+           "from Article a where a.id in :ids")
+    List<ArticleSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // the first articles of each category by id, an expanded category stays bounded whatever its size.
+    // the count of the lower ids in the same category is a range of the category foreign key index
+    @Query("select new com.blogify.payload.ArticleSummaryDto(a.id, a.title, a.description, a.category.id, a.commentCount, a.version) " +
+           "from Article a where a.category.id in :categoryIds and (select count(b) from Article b " +
+           "where b.category.id = a.category.id and b.id < a.id) < :limit order by a.id")
+    List<ArticleSummaryDto> findFirstSummariesByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds,
+                                                             @Param("limit") long limit);
+
+    // versions and the counters kept outside of them, a conditional GET of a page is answered from these
+    @Query("select a.id as id, a.version as version, a.category.id as categoryId, a.commentCount as commentCount " +
+           "from Article a")
+    Slice<SummaryVersion> findSummaryVersionsBy(Pageable pageable);
+
+    @Query("select a.id as id, a.version as version, a.category.id as categoryId, a.commentCount as commentCount " +
+           "from Article a where a.category.id in :categoryIds and (select count(b) from Article b " +
+           "where b.category.id = a.category.id and b.id < a.id) < :limit order by a.id")
+    List<SummaryVersion> findFirstSummaryVersionsByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds,
+                                                                @Param("limit") long limit);
+
+    @Query("select a.version from Article a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // a single row whatever the number of comments. comment ids only grow and every write of a comment
+    // increments its version, so adding, removing or editing a comment changes the aggregates
+    @Query("select a.version as version, a.category.id as categoryId, count(c.id) as commentCount, " +
+           "max(c.id) as lastCommentId, sum(c.version) as commentVersionSum " +
+           "from Article a left join a.comments c where a.id = :id group by a.id, a.version, a.category.id")
+    Optional<ArticleVersion> findArticleVersionById(@Param("id") Long id);
+
+    // categories without articles are left out
+    @Query("select a.category.id as categoryId, count(a) as articleCount from Article a " +
+           "where a.category.id in :categoryIds group by a.category.id")
+    List<CategoryArticleCount> countByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
+
+    List<Article> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    // forward-only read of every article in id order, rows are fetched from the cursor as the stream is consumed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.blogify.payload.ArticleExportDto(a.id, a.title, a.description, a.content, a.category.id, " +
+           "a.viewCount, a.commentCount) from Article a order by a.id")
+    Stream<ArticleExportDto> streamAllForExport();
+
+    // writes only the article's own columns, comments and counters are left alone. native updates name the
+    // table they write, otherwise hibernate cannot tell what they touch and clears the whole second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "articles"))
+    @Query(value = "UPDATE articles SET title = :title, description = :description, content = :content, " +
+                   "category_id = :categoryId, version = version + 1 WHERE id = :id", nativeQuery = true)
+    int updateById(@Param("id") Long id, @Param("title") String title, @Param("description") String description,
+                   @Param("content") String content, @Param("categoryId") Long categoryId);
+
+    // the version check and the write are one statement, a concurrent write in between cannot be overwritten
+    // and no row is locked beyond the update itself
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "articles"))
+    @Query(value = "UPDATE articles SET title = :title, description = :description, content = :content, " +
+                   "category_id = :categoryId, version = version + 1 WHERE id = :id AND version IN (:versions)",
+           nativeQuery = true)
+    int updateByIdAndVersionIn(@Param("id") Long id, @Param("versions") Collection<Long> versions,
+                               @Param("title") String title, @Param("description") String description,
+                               @Param("content") String content, @Param("categoryId") Long categoryId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "articles"))
+    @Query(value = "UPDATE articles SET comment_count = comment_count + :delta WHERE id = :id", nativeQuery = true)
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "articles"))
+    @Query(value = "UPDATE articles a SET comment_count = " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id) " +
+                   "WHERE a.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.article_id = a.id)",
+           nativeQuery = true)
+    int reconcileCommentCounts();
+
+    interface SummaryVersion {
+
+        Long getId();
+
+        long getVersion();
+
+        Long getCategoryId();
+
+        long getCommentCount();
+
+        default List<Object> toValidator() {
+            return Arrays.asList(getId(), getVersion(), getCategoryId(), getCommentCount());
+        }
+    }
+
+    interface ArticleVersion {
+
+        long getVersion();
+
+        Long getCategoryId();
+
+        long getCommentCount();
+
+        Long getLastCommentId();
+
+        Long getCommentVersionSum();
+
+        default List<Object> toValidator() {
+            return Arrays.asList(getCategoryId(), getCommentCount(), getLastCommentId(), getCommentVersionSum());
+        }
+    }
+
+    interface CategoryArticleCount {
+
+        Long getCategoryId();
+
+        long getArticleCount();
+    }
 }
@@ -1,12 +1,68 @@
 package com.blogify.repository;
 
 import com.blogify.entity.Comment;
+import com.blogify.payload.CommentExportDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<Comment> findByFullNameAndArticleId(String fullName, Long articleId);
+
+    // looked up after a rejected write, which must not be flushed again by the query
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    boolean existsByFullNameAndArticleIdAndIdNot(String fullName, Long articleId, Long id);
+
+    Window<Comment> findFirst10By(ScrollPosition position, Sort sort);
+
+    // seeks on the (article_id, id) index
+    Window<Comment> findFirst10ByArticleId(Long articleId, ScrollPosition position, Sort sort);
+
+    Slice<Comment> findAllBy(Pageable pageable);
+
+    @Query("select c.article.id from Comment c where c.id = :id")
+    Optional<Long> findArticleIdById(@Param("id") Long id);
+
+    @Query("select c.version from Comment c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select c.id as id, c.version as version from Comment c")
+    Slice<CommentVersion> findVersionsBy(Pageable pageable);
+
+    // forward-only read of every comment in id order, rows are fetched from the cursor as the stream is consumed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.blogify.payload.CommentExportDto(c.id, c.article.id, c.fullName, c.content) " +
+           "from Comment c order by c.id")
+    Stream<CommentExportDto> streamAllForExport();
+
+    // names the written table so that the second-level cache is not cleared as a whole. only applies while
+    // the comment is still on the article it was read with, so that a move is counted once
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"))
+    @Query(value = "UPDATE comments SET content = :content, full_name = :fullName, article_id = :articleId, " +
+                   "version = version + 1 WHERE id = :id AND article_id = :previousArticleId", nativeQuery = true)
+    int updateByIdAndArticleId(@Param("id") Long id, @Param("previousArticleId") Long previousArticleId,
+                               @Param("content") String content, @Param("fullName") String fullName,
+                               @Param("articleId") Long articleId);
+
+    interface CommentVersion {
+
+        Long getId();
+
+        long getVersion();
+    }
 }
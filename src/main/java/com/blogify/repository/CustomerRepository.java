@@ -1,12 +1,28 @@
 package com.blogify.repository;
 
 import com.blogify.entity.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
-}
\ No newline at end of file
+
+    Window<Customer> findFirst10By(ScrollPosition position, Sort sort);
+
+    Slice<Customer> findAllBy(Pageable pageable);
+
+    // roles are eager, fetching them in the same query avoids a select per customer
+    @EntityGraph(attributePaths = "roles")
+    List<Customer> findAllByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,48 @@
+package com.blogify.search;
+
+import com.blogify.entity.Article;
+import com.blogify.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds the in-memory article indexes from the database before the web server takes requests. Articles
+ * are read in id order batches so the whole table is never held in memory at once. No write can run
+ * meanwhile, so a batch read before an update or a delete never overwrites the newer entry or brings a
+ * deleted article back.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ArticleIndexInitializer implements SmartInitializingSingleton {
+
+    private final ArticleRepository articleRepository;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleTitleIndex articleTitleIndex;
+
+    // runs once every bean exists, which is before the context starts the web server
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long lastId = 0;
+        List<Article> batch;
+        do {
+            batch = articleRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastId);
+            for (Article article : batch) {
+                articleSearchIndex.index(article.getId(), article.getTitle(), article.getDescription(),
+                                         article.getContent());
+                articleTitleIndex.index(article.getId(), article.getTitle());
+                lastId = article.getId();
+            }
+        } while (!batch.isEmpty());
+
+        log.info("Article indexes built with {} articles", articleSearchIndex.size());
+    }
+}
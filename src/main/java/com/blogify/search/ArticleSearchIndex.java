@@ -0,0 +1,200 @@
+package com.blogify.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over article title, description and content, ranked with BM25F.
+ * Term frequencies of each field are normalised by the field length before the fields are
+ * combined with their weights, so a match in a short title counts more than one in a long body.
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int CONTENT = 2;
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELD_WEIGHTS.length];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Long articleId, String title, String description, String content) {
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELD_WEIGHTS.length];
+        fieldLengths[TITLE] = collectTerms(title, TITLE, termFrequencies);
+        fieldLengths[DESCRIPTION] = collectTerms(description, DESCRIPTION, termFrequencies);
+        fieldLengths[CONTENT] = collectTerms(content, CONTENT, termFrequencies);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(articleId);
+
+            termFrequencies.forEach((term, frequencies) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(articleId, frequencies));
+            documents.put(articleId, new Document(fieldLengths, termFrequencies.keySet()));
+            for (int field = 0; field < fieldLengths.length; field++) {
+                totalFieldLengths[field] += fieldLengths[field];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(terms);
+            return topScores(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(Set<String> terms) {
+        int documentCount = documents.size();
+        double[] averageFieldLengths = new double[FIELD_WEIGHTS.length];
+        for (int field = 0; field < averageFieldLengths.length; field++) {
+            averageFieldLengths[field] = documentCount == 0 ? 0 : (double) totalFieldLengths[field] / documentCount;
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+
+            int documentFrequency = termPostings.size();
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+            termPostings.forEach((articleId, frequencies) -> {
+                int[] fieldLengths = documents.get(articleId).fieldLengths();
+                double weightedFrequency = 0;
+                for (int field = 0; field < frequencies.length; field++) {
+                    if (frequencies[field] == 0) {
+                        continue;
+                    }
+                    double lengthNorm = averageFieldLengths[field] == 0
+                            ? 1
+                            : 1 - B + B * fieldLengths[field] / averageFieldLengths[field];
+                    weightedFrequency += FIELD_WEIGHTS[field] * frequencies[field] / lengthNorm;
+                }
+
+                double termScore = idf * weightedFrequency / (K1 + weightedFrequency);
+                scores.merge(articleId, termScore, Double::sum);
+            });
+        }
+        return scores;
+    }
+
+    // bounded min-heap, keeps the best `limit` scores without sorting every match
+    private static List<Long> topScores(Map<Long, Double> scores, int limit) {
+        // on equal scores the lower id ranks first
+        Comparator<Map.Entry<Long, Double>> worstFirst = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll().getKey());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private void removeInternal(Long articleId) {
+        Document document = documents.remove(articleId);
+        if (document == null) {
+            return;
+        }
+
+        for (String term : document.terms()) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(articleId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        for (int field = 0; field < totalFieldLengths.length; field++) {
+            totalFieldLengths[field] -= document.fieldLengths()[field];
+        }
+    }
+
+    private static int collectTerms(String text, int field, Map<String, int[]> termFrequencies) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.computeIfAbsent(token, key -> new int[FIELD_WEIGHTS.length])[field]++;
+        }
+        return tokens.size();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private record Document(int[] fieldLengths, Set<String> terms) {
+    }
+}
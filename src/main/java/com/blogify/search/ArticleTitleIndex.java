@@ -0,0 +1,66 @@
+package com.blogify.search;
+
+import com.blogify.payload.ArticleSuggestionDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory map of lowercased article titles used for autocomplete. A prefix lookup is a
+ * range scan over the keys starting with the prefix, so it never touches the database. Keys end with
+ * the article id because titles are only unique with their original case.
+ */
+@Component
+public class ArticleTitleIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final NavigableMap<String, Suggestion> titles = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    public synchronized void index(Long articleId, String title) {
+        String key = normalize(title) + SEPARATOR + articleId;
+        String previousKey = keysById.put(articleId, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            titles.remove(previousKey);
+        }
+        titles.put(key, new Suggestion(articleId, title));
+    }
+
+    public synchronized void remove(Long articleId) {
+        String key = keysById.remove(articleId);
+        if (key != null) {
+            titles.remove(key);
+        }
+    }
+
+    public List<ArticleSuggestionDto> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        List<ArticleSuggestionDto> suggestions = new ArrayList<>(limit);
+        for (Suggestion suggestion : titles.subMap(normalizedPrefix, true, normalizedPrefix + MAX_CHAR, true).values()) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            suggestions.add(new ArticleSuggestionDto(suggestion.articleId(), suggestion.title()));
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Suggestion(Long articleId, String title) {
+    }
+}
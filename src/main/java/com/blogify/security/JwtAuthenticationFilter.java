@@ -6,15 +6,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +25,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsManagerImpl userDetailsManager;
+    private final RevokedPrincipalRegistry revokedPrincipalRegistry;
+
+    // build the principal from the verified claims instead of loading the customer per request
+    @Value("${app.jwt-stateless-authentication:false}")
+    private boolean statelessAuthentication;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -34,29 +42,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } else {
 
             String authHeader = request.getHeader("Authorization");
-            String jwt;
-            String email;
 
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            jwt = authHeader.substring(7);
-            email = jwtService.extractUsername(jwt);
-
-            if(email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsManager.loadUserByUsername(email);
-
-                if(jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken token =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-                    token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(token);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // the only signature check for this request
+                Optional<VerifiedToken> verifiedToken = jwtService.verify(authHeader.substring(7));
+
+                if (verifiedToken.isPresent() && verifiedToken.get().getSubject() != null) {
+                    authenticate(request, verifiedToken.get());
                 }
             }
 
@@ -65,4 +62,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     }
 
-}
\ No newline at end of file
+    private void authenticate(HttpServletRequest request, VerifiedToken verifiedToken) {
+        if (revokedPrincipalRegistry.isRevoked(verifiedToken)) {
+            return;
+        }
+
+        Object principal;
+        Collection<? extends GrantedAuthority> authorities;
+
+        if (statelessAuthentication) {
+            principal = JwtPrincipal.from(verifiedToken);
+            authorities = verifiedToken.getAuthorities();
+        } else {
+            UserDetails userDetails = this.userDetailsManager.loadUserByUsername(verifiedToken.getSubject());
+            if (!jwtService.isTokenValid(verifiedToken, userDetails)) {
+                return;
+            }
+
+            principal = userDetails;
+            authorities = userDetails.getAuthorities();
+        }
+
+        UsernamePasswordAuthenticationToken token =
+                new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        authorities
+                );
+        token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(token);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.blogify.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+    private final List<GrantedAuthority> authorities;
+
+    public static JwtPrincipal from(VerifiedToken token) {
+        return new JwtPrincipal(
+                token.getSubject(),
+                token.getClaim("firstName"),
+                token.getClaim("lastName"),
+                token.getAuthorities()
+        );
+    }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
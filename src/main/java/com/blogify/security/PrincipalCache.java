@@ -0,0 +1,22 @@
+package com.blogify.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    public static final String NAME = "principals";
+
+    private final CacheManager cacheManager;
+
+    public void evict(String username) {
+        Cache cache = cacheManager.getCache(NAME);
+        if (cache != null && username != null) {
+            cache.evict(username);
+        }
+    }
+}
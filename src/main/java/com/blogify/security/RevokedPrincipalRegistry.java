@@ -0,0 +1,54 @@
+package com.blogify.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Local record of principals whose account changed (roles, password, removal) after tokens were
+ * issued to them. Lets stateless authentication reject those tokens without reading the database.
+ * Entries are only kept as long as a token issued before the revocation can still be valid.
+ */
+@Component
+public class RevokedPrincipalRegistry {
+
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+    private final LongSupplier currentTimeMillis;
+
+    @Value("${app-jwt-expiration-milliseconds}")
+    private long jwtExpirationDate;
+
+    public RevokedPrincipalRegistry() {
+        this(System::currentTimeMillis);
+    }
+
+    RevokedPrincipalRegistry(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    // "iat" has second precision, so the revocation is kept at the start of its second. a token issued
+    // later in that second, such as the one of a login right after the change, stays valid
+    public void revoke(String username) {
+        if (username == null) {
+            return;
+        }
+
+        long now = currentTimeMillis.getAsLong();
+        revokedAt.put(username, now - now % 1000);
+        revokedAt.values().removeIf(timestamp -> timestamp < now - jwtExpirationDate);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        Long revokedTimestamp = revokedAt.get(token.getSubject());
+        if (revokedTimestamp == null) {
+            return false;
+        }
+
+        Date issuedAt = token.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() < revokedTimestamp;
+    }
+}
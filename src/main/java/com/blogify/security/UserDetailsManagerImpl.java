@@ -4,6 +4,7 @@ import com.blogify.entity.Customer;
 import com.blogify.exception.ApiException;
 import com.blogify.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +25,10 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final RevokedPrincipalRegistry revokedPrincipalRegistry;
+
+    private final PrincipalCache principalCache;
+
     @Override
     public void createUser(UserDetails user) {
         Customer customer = new Customer();
@@ -38,6 +43,8 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
                 this::generateNotFoundException);
         customer.setPassword(passwordEncoder.encode(user.getPassword()));
         customerRepository.save(customer);
+        revokedPrincipalRegistry.revoke(customer.getEmail());
+        principalCache.evict(customer.getEmail());
     }
 
     @Override
@@ -46,6 +53,8 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
                 this::generateNotFoundException);
 
         customerRepository.delete(customer);
+        revokedPrincipalRegistry.revoke(username);
+        principalCache.evict(username);
     }
 
     @Override
@@ -61,6 +70,8 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
         customer.setPassword(passwordEncoder.encode(newPassword));
 
         customerRepository.save(customer);
+        revokedPrincipalRegistry.revoke(username);
+        principalCache.evict(username);
     }
 
     @Override
@@ -69,6 +80,7 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
     }
 
     @Override
+    @Cacheable(cacheNames = PrincipalCache.NAME, key = "#username")
     public UserDetails loadUserByUsername(String username) { // return 401 on exception
         return customerRepository.findByEmail(username).orElseThrow(
                 () -> new UsernameNotFoundException("User not found"));
@@ -0,0 +1,54 @@
+package com.blogify.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked by {@link JwtService}.
+ * Built once per request so that the filter never has to parse the same token again.
+ */
+@Getter
+public class VerifiedToken {
+
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final List<GrantedAuthority> authorities;
+
+    @Getter(AccessLevel.NONE)
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.authorities = parseAuthorities(claims.get("authorities"));
+    }
+
+    public String getClaim(String name) {
+        return claims.get(name, String.class);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private static List<GrantedAuthority> parseAuthorities(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return Collections.emptyList();
+        }
+
+        return values.stream()
+                .map(value -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(value)))
+                .toList();
+    }
+}
@@ -0,0 +1,251 @@
+package com.blogify.service;
+
+import com.blogify.entity.Article;
+import com.blogify.exception.ApiException;
+import com.blogify.mapper.ArticleMapper;
+import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleImportFailure;
+import com.blogify.payload.ArticleImportReport;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.search.ArticleSearchIndex;
+import com.blogify.search.ArticleTitleIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports articles from newline delimited JSON, one article per line. Lines are parsed and validated
+ * as they are read and inserted in batches, each batch in its own transaction, so only one batch is
+ * held in memory whatever the size of the upload. A line that cannot be parsed, validated or inserted
+ * is reported with its line number and the import goes on. When a batch is rejected by the database,
+ * it is inserted again one article at a time to find the articles at fault. A line longer than the
+ * configured number of bytes is not buffered past that limit, it is skipped and reported as failed.
+ */
+@Slf4j
+@Component
+public class ArticleImporter {
+
+    static final int MAX_REPORTED_FAILURES = 100;
+
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleTitleIndex articleTitleIndex;
+    private final ArticleViolationTranslator articleViolationTranslator;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectReader articleReader;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxLineBytes;
+
+    public ArticleImporter(ArticleRepository articleRepository,
+                           ArticleMapper articleMapper,
+                           ArticleSearchIndex articleSearchIndex,
+                           ArticleTitleIndex articleTitleIndex,
+                           ArticleViolationTranslator articleViolationTranslator,
+                           EntityManager entityManager,
+                           Validator validator,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.article-import.batch-size:500}") int batchSize,
+                           @Value("${app.article-import.max-line-bytes:1048576}") int maxLineBytes) {
+        this.articleRepository = articleRepository;
+        this.articleMapper = articleMapper;
+        this.articleSearchIndex = articleSearchIndex;
+        this.articleTitleIndex = articleTitleIndex;
+        this.articleViolationTranslator = articleViolationTranslator;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.articleReader = objectMapper.readerFor(ArticleDto.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    public ArticleImportReport importArticles(InputStream input) throws IOException {
+        Progress progress = new Progress();
+        List<Line> batch = new ArrayList<>(batchSize);
+
+        try (LineReader reader = new LineReader(input, maxLineBytes)) {
+            long number = 0;
+            for (String json = reader.readLine(); json != null; json = reader.readLine()) {
+                number++;
+                if (reader.overflowed) {
+                    progress.fail(number, "Line longer than " + maxLineBytes + " bytes");
+                    continue;
+                }
+                if (json.isBlank()) {
+                    continue;
+                }
+
+                ArticleDto article = parse(number, json, progress);
+                if (article != null) {
+                    batch.add(new Line(number, article));
+                }
+                if (batch.size() == batchSize) {
+                    insert(batch, progress);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, progress);
+        }
+
+        log.info("Imported {} articles, {} lines failed", progress.imported, progress.failed);
+        return new ArticleImportReport(progress.imported, progress.failed, progress.failures);
+    }
+
+    private ArticleDto parse(long number, String json, Progress progress) {
+        ArticleDto article;
+        try {
+            article = articleReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            progress.fail(number, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<ArticleDto>> violations = validator.validate(article);
+        if (!violations.isEmpty()) {
+            progress.fail(number, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+
+        // imported articles always get new ids, comments are not imported
+        article.setId(null);
+        article.setComments(null);
+        return article;
+    }
+
+    private void insert(List<Line> batch, Progress progress) {
+        try {
+            List<Article> articles = transactionTemplate.execute(status -> {
+                List<Article> saved = articleRepository.saveAll(batch.stream()
+                                                                     .map(line -> articleMapper.toEntity(line.article()))
+                                                                     .toList());
+                articleRepository.flush();
+                return saved;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                index(articles.get(i).getId(), batch.get(i).article());
+            }
+            progress.imported += batch.size();
+        } catch (DataIntegrityViolationException e) {
+            batch.forEach(line -> insertOne(line, progress));
+        } finally {
+            // a request scoped entity manager would otherwise keep every imported article
+            entityManager.clear();
+        }
+    }
+
+    private void insertOne(Line line, Progress progress) {
+        Article article = articleMapper.toEntity(line.article());
+        try {
+            transactionTemplate.executeWithoutResult(status -> articleRepository.saveAndFlush(article));
+            index(article.getId(), line.article());
+            progress.imported++;
+        } catch (DataIntegrityViolationException e) {
+            progress.fail(line.number(), describe(e, article.getId(), line.article()));
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private void index(Long id, ArticleDto article) {
+        articleSearchIndex.index(id, article.getTitle(), article.getDescription(), article.getContent());
+        articleTitleIndex.index(id, article.getTitle());
+    }
+
+    // the insert was rolled back, so looking up the cause sees the rows that rejected it
+    private String describe(DataIntegrityViolationException e, Long id, ArticleDto article) {
+        ApiException translated = articleViolationTranslator.translate(e, id, article);
+        return translated != null ? translated.getMessage() : "Rejected by the database";
+    }
+
+    private record Line(long number, ArticleDto article) {
+    }
+
+    /**
+     * Reads UTF-8 lines ended by '\n' or "\r\n" without holding more than the limit of any line. The
+     * rest of a longer line is skipped, it is returned empty with {@code overflowed} set.
+     */
+    private static class LineReader implements AutoCloseable {
+
+        private final InputStream input;
+        private final int maxLineBytes;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private boolean overflowed;
+
+        private LineReader(InputStream input, int maxLineBytes) {
+            this.input = new BufferedInputStream(input);
+            this.maxLineBytes = maxLineBytes;
+        }
+
+        private String readLine() throws IOException {
+            line.reset();
+            overflowed = false;
+            int b = input.read();
+            if (b == -1) {
+                return null;
+            }
+            for (; b != -1 && b != '\n'; b = input.read()) {
+                if (line.size() < maxLineBytes) {
+                    line.write(b);
+                } else if (b != '\r') {
+                    overflowed = true;
+                }
+            }
+            if (overflowed) {
+                return "";
+            }
+
+            byte[] bytes = line.toByteArray();
+            int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    private static class Progress {
+
+        private final List<ArticleImportFailure> failures = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private void fail(long line, String message) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new ArticleImportFailure(line, message));
+            }
+        }
+    }
+}
@@ -1,72 +1,240 @@
 package com.blogify.service;
 
 import com.blogify.entity.Article;
+import com.blogify.entity.Comment;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.ArticleMapper;
 import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleSuggestionDto;
+import com.blogify.payload.BatchResponse;
+import com.blogify.payload.ArticleSummaryDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.repository.ArticleRepository;
+import com.blogify.repository.ArticleRepository.ArticleVersion;
+import com.blogify.repository.ArticleRepository.SummaryVersion;
+import com.blogify.search.ArticleSearchIndex;
+import com.blogify.search.ArticleTitleIndex;
+import com.blogify.util.ETagUtil;
+import com.blogify.util.ETagUtil.Tagged;
+import com.blogify.util.PageUtil;
+import com.blogify.util.TransactionUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @RequiredArgsConstructor
 @Service
-public class ArticleService implements EntityService<ArticleDto> {
+public class ArticleService implements EntityService<ArticleDto, ArticleSummaryDto> {
 
     private static final int PAGE_SIZE = 10;
+    private static final int MAX_LOOKUP_RESULTS = 50;
+    private static final Set<String> PATCHABLE = Set.of("title", "description", "content", "categoryId");
 
     private final ArticleRepository articleRepository;
-    private final ModelMapper modelMapper;
+    private final EntityCountCache entityCountCache;
+    private final ArticleMapper articleMapper;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleTitleIndex articleTitleIndex;
+    private final ArticleViewCounter articleViewCounter;
+    private final ArticleTrendingTracker articleTrendingTracker;
+    private final MergePatcher mergePatcher;
+    private final ArticleViolationTranslator articleViolationTranslator;
 
+    // title uniqueness and the category reference are checked by the database constraints,
+    // so create is a single INSERT and update a single UPDATE of the article columns
     @Override
+    @Transactional
     public ArticleDto create(ArticleDto newArticle) {
-        validateArticle(null, newArticle.getTitle());
-        save(newArticle);
+        Article article = mapToEntity(newArticle);
+        Article savedArticle;
+        try {
+            savedArticle = articleRepository.saveAndFlush(article);
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e, article.getId(), newArticle);
+        }
+        newArticle.setId(savedArticle.getId());
+        index(newArticle);
 
         return newArticle;
     }
 
     @Override
+    @Transactional
     public ArticleDto update(Long id, ArticleDto newArticle) {
-        validateArticle(id, newArticle.getTitle());
-        save(newArticle);
+        return update(id, newArticle, null);
+    }
+
+    // expected versions come from If-Match, null writes unconditionally. a stale write changes no row,
+    // the version is only read afterwards to tell a stale article from a missing one
+    @Transactional
+    public ArticleDto update(Long id, ArticleDto newArticle, Collection<Long> expectedVersions) {
+        int updated;
+        try {
+            if (expectedVersions == null) {
+                updated = articleRepository.updateById(id, newArticle.getTitle(), newArticle.getDescription(),
+                                                       newArticle.getContent(), newArticle.getCategoryId());
+            } else {
+                updated = expectedVersions.isEmpty() ? 0 : articleRepository.updateByIdAndVersionIn(
+                        id, expectedVersions, newArticle.getTitle(), newArticle.getDescription(),
+                        newArticle.getContent(), newArticle.getCategoryId());
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e, id, newArticle);
+        }
+        if (updated == 0) {
+            throw expectedVersions != null && articleRepository.findVersionById(id).isPresent()
+                    ? generatePreconditionFailed()
+                    : generateNotFound();
+        }
+        newArticle.setId(id);
+        index(newArticle);
 
         return newArticle;
     }
 
-    private void save(ArticleDto newArticle) {
-        Article savedArticle = articleRepository.save(mapToEntity(newArticle));
-        newArticle.setId(savedArticle.getId());
+    // the article is dynamically updated, only the columns the patch changed are written
+    @Override
+    @Transactional
+    public ArticleDto patch(Long id, JsonNode patch) {
+        return patch(id, patch, null);
     }
 
-    private void validateArticle(Long id, String title) {
-        articleRepository.findByTitle(title).ifPresent(article -> {
-            if (!article.getId().equals(id)) {
-                throw new ApiException(HttpStatus.BAD_REQUEST, "Title already in use");
+    // the flush checks the version the article was read with, so a write that lands after the
+    // precondition was checked fails the precondition as well
+    @Transactional
+    public ArticleDto patch(Long id, JsonNode patch, Collection<Long> expectedVersions) {
+        Article article = findByIdInternal(id);
+        if (expectedVersions != null && !expectedVersions.contains(article.getVersion())) {
+            throw generatePreconditionFailed();
+        }
+        ArticleDto patchedArticle = mergePatcher.apply(patch, articleMapper.toWritableDto(article), PATCHABLE);
+
+        articleMapper.updateEntity(patchedArticle, article);
+        try {
+            articleRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e, id, patchedArticle);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersions != null) {
+                throw generatePreconditionFailed();
             }
+            throw e;
+        }
+        index(patchedArticle);
+
+        return patchedArticle;
+    }
+
+    // the indexes are not transactional, a rolled back write must leave them as they were
+    private void index(ArticleDto article) {
+        Long id = article.getId();
+        String title = article.getTitle();
+        String description = article.getDescription();
+        String content = article.getContent();
+        TransactionUtil.afterCommit(() -> {
+            articleSearchIndex.index(id, title, description, content);
+            articleTitleIndex.index(id, title);
         });
+    }
 
-        if (id != null && !articleRepository.existsById(id)) {
-            throw generateNotFound();
+    private ApiException translateViolation(DataIntegrityViolationException e, Long id, ArticleDto article) {
+        ApiException translated = articleViolationTranslator.translate(e, id, article);
+        if (translated == null) {
+            throw e;
         }
+        return translated;
+    }
+
+    @Override
+    public ResponsePage<ArticleSummaryDto> findAll(Integer pageNum, Sort sort) {
+        Slice<ArticleSummaryDto> slice = articleRepository.findSummariesBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        long approximateTotal = entityCountCache.count(Article.class, articleRepository::count);
+
+        return PageUtil.toResponsePage(slice, approximateTotal, Function.identity());
+    }
+
+    @Override
+    public ResponsePage<ArticleSummaryDto> findSlice(Integer pageNum, Sort sort) {
+        Slice<ArticleSummaryDto> slice = articleRepository.findSummariesBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+
+        return PageUtil.toResponsePage(slice, Function.identity());
+    }
+
+    // an unconditional GET tags the page with the versions the summaries were loaded with
+    public Tagged<ResponsePage<ArticleSummaryDto>> findTaggedPage(Integer pageNum, Sort sort, boolean count) {
+        ResponsePage<ArticleSummaryDto> page = count ? findAll(pageNum, sort) : findSlice(pageNum, sort);
+
+        return new Tagged<>(ETagUtil.forContent(PageUtil.mapContent(page, ArticleSummaryDto::toValidator)), page);
     }
 
+    // keyset scrolling needs the sort keys of each row, so the window is read as entities
     @Override
-    public ResponsePage<ArticleDto> findAll(Integer pageNum, Sort sort) {
-        Page<Article> page = articleRepository.findAll(PageRequest.of(pageNum, PAGE_SIZE, sort));
+    public ResponsePage<ArticleSummaryDto> findAllByCursor(String cursor, Sort sort) {
+        ScrollPosition position = PageUtil.decodeCursor(cursor, sort, Article.class);
+        Window<Article> window = articleRepository.findFirst10By(position, sort);
+
+        return PageUtil.toResponsePage(window, PAGE_SIZE, articleMapper::toSummary);
+    }
+
+    // summaries only, like the list endpoint, and without counting views
+    public BatchResponse<ArticleSummaryDto> findAllById(List<Long> ids) {
+        List<Long> requestedIds = PageUtil.parseBatchIds(ids);
+        return PageUtil.toBatchResponse(requestedIds, articleRepository.findSummariesByIdIn(requestedIds));
+    }
 
-        return ResponsePage.<ArticleDto>builder()
-                .page(pageNum)
-                .pageSize(PAGE_SIZE)
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .content(page.getContent().stream().map(this::mapToDto).toList())
-                .build();
+    public List<ArticleSummaryDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw ApiException.badRequest("Search query must not be empty");
+        }
+
+        return findSummariesInOrder(articleSearchIndex.search(query, resultLimit(limit)));
+    }
+
+    public List<ArticleSummaryDto> findTrending(int limit) {
+        return findSummariesInOrder(articleTrendingTracker.trending(resultLimit(limit)));
+    }
+
+    private List<ArticleSummaryDto> findSummariesInOrder(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ArticleSummaryDto> summaries = articleRepository.findSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public List<ArticleSuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+
+        return articleTitleIndex.suggest(prefix, resultLimit(limit));
+    }
+
+    private static int resultLimit(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_LOOKUP_RESULTS);
     }
 
     private Article findByIdInternal(Long id) {
@@ -77,23 +245,81 @@ public class ArticleService implements EntityService<ArticleDto> {
     public void deleteById(Long id) {
         Article article = findByIdInternal(id);
         articleRepository.delete(article);
+        TransactionUtil.afterCommit(() -> {
+            articleSearchIndex.remove(id);
+            articleTitleIndex.remove(id);
+            articleViewCounter.discard(id);
+            articleTrendingTracker.remove(id);
+        });
     }
 
     @Override
     public ArticleDto findById(Long id) {
         Article article = findByIdInternal(id);
-        return mapToDto(article);
+        ArticleDto articleDto = mapToDto(article);
+        articleDto.setViewCount(article.getViewCount() + articleViewCounter.pending(id));
+        return articleDto;
+    }
+
+    public ArticleDto viewById(Long id) {
+        return viewTaggedById(id).body();
+    }
+
+    // the tag is taken from the article and the comments the body shows, not from the aggregate query
+    public Tagged<ArticleDto> viewTaggedById(Long id) {
+        Article article = findByIdInternal(id);
+        recordView(id);
+
+        ArticleDto articleDto = mapToDto(article);
+        articleDto.setViewCount(article.getViewCount() + articleViewCounter.pending(id));
+        return new Tagged<>(ETagUtil.forWeakVersion(article.getVersion(), toValidator(article)), articleDto);
+    }
+
+    public void recordView(Long id) {
+        articleViewCounter.record(id);
+        articleTrendingTracker.recordView(id);
+    }
+
+    // a single aggregate row, so a matching conditional GET loads neither the content nor the comments.
+    // the view count is left out, every view changes it, so the tag is weak
+    public String findETag(Long id) {
+        ArticleVersion version = articleRepository.findArticleVersionById(id).orElseThrow(this::generateNotFound);
+        return ETagUtil.forWeakVersion(version.getVersion(), version.toValidator());
+    }
+
+    public String findPageETag(Integer pageNum, Sort sort, boolean count) {
+        Slice<SummaryVersion> slice = articleRepository.findSummaryVersionsBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        ResponsePage<List<Object>> validator = count
+                ? PageUtil.toResponsePage(slice, entityCountCache.count(Article.class, articleRepository::count),
+                                          SummaryVersion::toValidator)
+                : PageUtil.toResponsePage(slice, SummaryVersion::toValidator);
+
+        return ETagUtil.forContent(validator);
+    }
+
+    // the values of ArticleVersion, computed from the loaded comments
+    private static List<Object> toValidator(Article article) {
+        List<Comment> comments = article.getComments() == null ? List.of() : article.getComments();
+        Long categoryId = article.getCategory() == null ? null : article.getCategory().getId();
+        Long lastCommentId = comments.stream().map(Comment::getId).max(Long::compare).orElse(null);
+        Long commentVersionSum = comments.isEmpty() ? null : comments.stream().mapToLong(Comment::getVersion).sum();
+
+        return Arrays.asList(categoryId, (long) comments.size(), lastCommentId, commentVersionSum);
     }
 
     private Article mapToEntity(ArticleDto dto) {
-        return modelMapper.map(dto, Article.class);
+        return articleMapper.toEntity(dto);
     }
 
     private ArticleDto mapToDto(Article article) {
-        return modelMapper.map(article, ArticleDto.class);
+        return articleMapper.toDto(article);
     }
 
     private ApiException generateNotFound() {
         return ApiException.notFound("Article not found");
     }
+
+    private ApiException generatePreconditionFailed() {
+        return ApiException.preconditionFailed("Article was modified since the ETag in If-Match");
+    }
 }
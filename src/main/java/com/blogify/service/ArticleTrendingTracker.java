@@ -0,0 +1,157 @@
+package com.blogify.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Trending score of articles: views and new comments with exponential decay over time.
+ * <p>
+ * Instead of decaying every score on every tick, each event is added with the weight it has relative
+ * to a fixed landmark time, {@code weight * e^(rate * (now - landmark))}. All stored scores decay by
+ * the same factor, so their order never changes and only the top {@link #CAPACITY} articles need to
+ * be kept sorted. When the exponent gets large, scores are rescaled to a new landmark and articles
+ * whose score has decayed to nothing are forgotten.
+ * <p>
+ * Recording an event only adds its weight to a striped counter, so reading an article takes no lock.
+ * The pending weights are merged into the scores under the lock, on a schedule and before the ranking
+ * is read, and count as if the events happened at the time of the merge.
+ */
+@Component
+public class ArticleTrendingTracker {
+
+    static final int CAPACITY = 100;
+
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 5.0;
+    private static final double MAX_EXPONENT = 50;
+    private static final double FORGET_BELOW = 1e-3;
+
+    private static final Comparator<Ranked> BY_SCORE = Comparator.comparingDouble(Ranked::score)
+            .thenComparing(Ranked::articleId, Comparator.reverseOrder());
+
+    private final double decayRate;
+    private final LongSupplier clock;
+
+    private final Map<Long, DoubleAdder> pendingWeights = new ConcurrentHashMap<>();
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final NavigableSet<Ranked> top = new TreeSet<>(BY_SCORE);
+    private long landmark;
+
+    @Autowired
+    public ArticleTrendingTracker(@Value("${app.trending.half-life-minutes:360}") long halfLifeMinutes) {
+        this(TimeUnit.MINUTES.toMillis(halfLifeMinutes), System::currentTimeMillis);
+    }
+
+    ArticleTrendingTracker(long halfLifeMillis, LongSupplier clock) {
+        this.decayRate = Math.log(2) / halfLifeMillis;
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    public void recordView(Long articleId) {
+        record(articleId, VIEW_WEIGHT);
+    }
+
+    public void recordComment(Long articleId) {
+        record(articleId, COMMENT_WEIGHT);
+    }
+
+    public synchronized void remove(Long articleId) {
+        pendingWeights.remove(articleId);
+        Double score = scores.remove(articleId);
+        if (score != null && top.remove(new Ranked(articleId, score))) {
+            refillTop();
+        }
+    }
+
+    // highest score first, O(limit) as the top articles are already sorted
+    public synchronized List<Long> trending(int limit) {
+        merge();
+        List<Long> articleIds = new ArrayList<>(Math.min(limit, top.size()));
+        Iterator<Ranked> iterator = top.descendingIterator();
+        while (iterator.hasNext() && articleIds.size() < limit) {
+            articleIds.add(iterator.next().articleId());
+        }
+        return articleIds;
+    }
+
+    private void record(Long articleId, double weight) {
+        pendingWeights.computeIfAbsent(articleId, key -> new DoubleAdder()).add(weight);
+    }
+
+    // only the merged weight is subtracted, events recorded during a merge stay pending
+    @Scheduled(fixedDelayString = "${app.trending.merge-interval-ms:1000}",
+               initialDelayString = "${app.trending.merge-interval-ms:1000}")
+    public synchronized void merge() {
+        double exponent = decayRate * (clock.getAsLong() - landmark);
+        if (exponent > MAX_EXPONENT) {
+            rescale(exponent);
+            exponent = 0;
+        }
+
+        double factor = Math.exp(exponent);
+        pendingWeights.forEach((articleId, pending) -> {
+            double weight = pending.sum();
+            if (weight > 0) {
+                pending.add(-weight);
+                add(articleId, weight * factor);
+            }
+        });
+    }
+
+    private void add(Long articleId, double increment) {
+        Double previous = scores.get(articleId);
+        double score = previous == null ? increment : previous + increment;
+        scores.put(articleId, score);
+
+        // scores only grow, so an article outside the top can only enter it here
+        if (previous != null && top.remove(new Ranked(articleId, previous))) {
+            top.add(new Ranked(articleId, score));
+            return;
+        }
+        Ranked ranked = new Ranked(articleId, score);
+        if (top.size() < CAPACITY) {
+            top.add(ranked);
+        } else if (BY_SCORE.compare(ranked, top.first()) > 0) {
+            top.pollFirst();
+            top.add(ranked);
+        }
+    }
+
+    private void rescale(double exponent) {
+        double factor = Math.exp(-exponent);
+        landmark = clock.getAsLong();
+
+        scores.replaceAll((articleId, score) -> score * factor);
+        scores.values().removeIf(score -> score < FORGET_BELOW);
+        refillTop();
+    }
+
+    private void refillTop() {
+        top.clear();
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.add(new Ranked(entry.getKey(), entry.getValue()));
+            if (top.size() > CAPACITY) {
+                top.pollFirst();
+            }
+        }
+    }
+
+    private record Ranked(Long articleId, double score) {
+    }
+}
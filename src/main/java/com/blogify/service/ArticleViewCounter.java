@@ -0,0 +1,72 @@
+package com.blogify.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind article view counts. Views are added to striped in-memory counters and written to
+ * the view_count column in one batch per flush, so reading a popular article does not lock its row.
+ * Only the flushed amount is subtracted afterwards, views recorded during a flush stay pending.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ArticleViewCounter {
+
+    private static final String FLUSH_SQL = "UPDATE articles SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    public void record(Long articleId) {
+        pendingViews.computeIfAbsent(articleId, key -> new LongAdder()).increment();
+    }
+
+    public long pending(Long articleId) {
+        LongAdder views = pendingViews.get(articleId);
+        return views == null ? 0 : views.sum();
+    }
+
+    public void discard(Long articleId) {
+        pendingViews.remove(articleId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-counter.flush-interval-ms:5000}",
+               initialDelayString = "${app.view-counter.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Long> articleIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        pendingViews.forEach((articleId, views) -> {
+            long delta = views.sum();
+            if (delta > 0) {
+                articleIds.add(articleId);
+                batch.add(new Object[]{delta, articleId});
+            }
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        for (int i = 0; i < batch.size(); i++) {
+            LongAdder views = pendingViews.get(articleIds.get(i));
+            if (views != null) {
+                views.add(-(long) batch.get(i)[0]);
+            }
+        }
+        log.debug("Flushed view counts of {} articles", batch.size());
+    }
+}
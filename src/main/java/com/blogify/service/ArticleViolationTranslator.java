@@ -0,0 +1,49 @@
+package com.blogify.service;
+
+import com.blogify.entity.Article;
+import com.blogify.exception.ApiException;
+import com.blogify.payload.ArticleDto;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.repository.CategoryRepository;
+import com.blogify.util.ConstraintUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells which constraint rejected an article write. Schemas created by ddl-auto before the constraints
+ * were named keep the names hibernate generated and ddl-auto=update never renames a constraint, so a
+ * violation that names neither constraint is told apart by looking up the category and the title.
+ */
+@RequiredArgsConstructor
+@Component
+public class ArticleViolationTranslator {
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+
+    // null when the write was rejected for another reason
+    public ApiException translate(DataIntegrityViolationException e, Long id, ArticleDto article) {
+        if (ConstraintUtil.violates(e, Article.UNIQUE_TITLE)) {
+            return generateTitleInUse();
+        }
+        if (ConstraintUtil.violates(e, Article.CATEGORY_FOREIGN_KEY)) {
+            return generateCategoryNotFound();
+        }
+        if (article.getCategoryId() != null && !categoryRepository.existsById(article.getCategoryId())) {
+            return generateCategoryNotFound();
+        }
+        if (articleRepository.existsByTitleAndIdNot(article.getTitle(), id)) {
+            return generateTitleInUse();
+        }
+        return null;
+    }
+
+    private static ApiException generateTitleInUse() {
+        return ApiException.badRequest("Title already in use");
+    }
+
+    private static ApiException generateCategoryNotFound() {
+        return ApiException.notFound("Category not found");
+    }
+}
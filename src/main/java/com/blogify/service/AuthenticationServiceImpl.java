@@ -4,6 +4,7 @@ import com.blogify.entity.Customer;
 import com.blogify.entity.Role;
 import com.blogify.entity.Token;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CustomerMapper;
 import com.blogify.payload.JWTResponse;
 import com.blogify.payload.LoginRequest;
 import com.blogify.payload.RegistrationRequest;
@@ -11,9 +12,9 @@ import com.blogify.repository.CustomerRepository;
 import com.blogify.repository.RoleRepository;
 import com.blogify.repository.TokenRepository;
 import com.blogify.security.JwtService;
+import com.blogify.security.PrincipalCache;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -41,8 +42,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final TokenRepository tokenRepository;
     private final RoleRepository roleRepository;
     private final EmailService emailService;
-    private final ModelMapper modelMapper;
+    private final CustomerMapper customerMapper;
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
 
     @Value("${application.mailing.activation-url}")
     private String activationUrl;
@@ -57,7 +59,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 ));
         encodePassword(registrationRequest);
 
-        Customer customer = modelMapper.map(registrationRequest, Customer.class);
+        Customer customer = customerMapper.fromRegistration(registrationRequest);
         customer.addRole(userRole);
 
         customerRepository.save(customer);
@@ -83,6 +85,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         customer.setEnabled(true);
         customerRepository.save(customer);
         tokenRepository.delete(activationToken);
+        // a disabled copy may have been cached by an earlier login attempt
+        principalCache.evict(customer.getEmail());
     }
 
     @Override
@@ -2,42 +2,100 @@ package com.blogify.service;
 
 import com.blogify.entity.Category;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CategoryMapper;
+import com.blogify.payload.ArticleSummaryDto;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.CategoryDto;
 import com.blogify.payload.ResponsePage;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.repository.ArticleRepository.CategoryArticleCount;
+import com.blogify.repository.ArticleRepository.SummaryVersion;
 import com.blogify.repository.CategoryRepository;
+import com.blogify.util.ETagUtil;
+import com.blogify.util.ETagUtil.Tagged;
+import com.blogify.util.PageUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
-public class CategoryService implements EntityService<CategoryDto> {
+public class CategoryService implements EntityService<CategoryDto, CategoryDto> {
+
+    public static final String EXPAND_ARTICLES = "articles";
 
     private static final int PAGE_SIZE = 10;
+    private static final int EXPANDED_ARTICLES = 10;
+    private static final Set<String> PATCHABLE = Set.of("name");
 
     private final CategoryRepository categoryRepository;
-    private final ModelMapper modelMapper;
+    private final ArticleRepository articleRepository;
+    private final EntityCountCache entityCountCache;
+    private final CategoryMapper categoryMapper;
+    private final MergePatcher mergePatcher;
 
     @Override
     public CategoryDto create(CategoryDto categoryDto) {
         validateCategory(null, categoryDto.getName());
         Category savedCategory = categoryRepository.save(mapToEntity(categoryDto));
 
+        // a new category has no articles yet
         return mapToDto(savedCategory);
     }
 
+    // written through the loaded category, so its version is checked and incremented
     @Override
+    @Transactional
     public CategoryDto update(Long id, CategoryDto categoryDto) {
+        Category category = findByIdInternal(id);
         validateCategory(id, categoryDto.getName());
-        categoryDto.setId(id);
 
-        Category savedCategory = categoryRepository.save(mapToEntity(categoryDto));
+        categoryMapper.updateEntity(categoryDto, category);
 
-        return mapToDto(savedCategory);
+        return withFetchPlan(mapToDto(category), false);
+    }
+
+    @Override
+    @Transactional
+    public CategoryDto patch(Long id, JsonNode patch) {
+        Category category = findByIdInternal(id);
+        CategoryDto patchedCategory = mergePatcher.apply(patch, mapToDto(category), PATCHABLE);
+        if (!Objects.equals(category.getName(), patchedCategory.getName())) {
+            validateCategory(id, patchedCategory.getName());
+        }
+
+        categoryMapper.updateEntity(patchedCategory, category);
+
+        return withFetchPlan(patchedCategory, false);
+    }
+
+    // only one level can be expanded, articles never bring their comments along
+    public static boolean expandsArticles(List<String> expand) {
+        if (expand == null) {
+            return false;
+        }
+        for (String property : expand) {
+            if (!EXPAND_ARTICLES.equals(property)) {
+                throw ApiException.badRequest("Property '" + property + "' cannot be expanded");
+            }
+        }
+        return !expand.isEmpty();
     }
 
     private void validateCategory(Long id, String name) {
@@ -50,20 +108,165 @@ public class CategoryService implements EntityService<CategoryDto> {
 
     @Override
     public ResponsePage<CategoryDto> findAll(Integer pageNum, Sort sort) {
-        Page<Category> page = categoryRepository.findAll(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        return findAll(pageNum, sort, false);
+    }
+
+    public ResponsePage<CategoryDto> findAll(Integer pageNum, Sort sort, boolean expandArticles) {
+        Slice<Category> slice = categoryRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        long approximateTotal = entityCountCache.count(Category.class, categoryRepository::count);
 
-        return ResponsePage.<CategoryDto>builder()
-                .pageSize(PAGE_SIZE)
-                .page(pageNum)
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .content(page.getContent().stream().map(this::mapToDto).toList())
-                .build();
+        return withFetchPlan(PageUtil.toResponsePage(slice, approximateTotal, this::mapToDto), expandArticles);
+    }
+
+    @Override
+    public ResponsePage<CategoryDto> findSlice(Integer pageNum, Sort sort) {
+        return findSlice(pageNum, sort, false);
+    }
+
+    public ResponsePage<CategoryDto> findSlice(Integer pageNum, Sort sort, boolean expandArticles) {
+        Slice<Category> slice = categoryRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+
+        return withFetchPlan(PageUtil.toResponsePage(slice, this::mapToDto), expandArticles);
+    }
+
+    @Override
+    public ResponsePage<CategoryDto> findAllByCursor(String cursor, Sort sort) {
+        return findAllByCursor(cursor, sort, false);
+    }
+
+    public ResponsePage<CategoryDto> findAllByCursor(String cursor, Sort sort, boolean expandArticles) {
+        ScrollPosition position = PageUtil.decodeCursor(cursor, sort, Category.class);
+        Window<Category> window = categoryRepository.findFirst10By(position, sort);
+
+        return withFetchPlan(PageUtil.toResponsePage(window, PAGE_SIZE, this::mapToDto), expandArticles);
     }
 
     @Override
     public CategoryDto findById(Long id) {
-        return mapToDto(findByIdInternal(id));
+        return findById(id, false);
+    }
+
+    public CategoryDto findById(Long id, boolean expandArticles) {
+        return withFetchPlan(mapToDto(findByIdInternal(id)), expandArticles);
+    }
+
+    public BatchResponse<CategoryDto> findAllById(List<Long> ids, boolean expandArticles) {
+        List<Long> requestedIds = PageUtil.parseBatchIds(ids);
+        List<CategoryDto> categories = categoryRepository.findAllById(requestedIds).stream()
+                .map(this::mapToDto)
+                .toList();
+        applyFetchPlan(categories, expandArticles);
+
+        return PageUtil.toBatchResponse(requestedIds, categories);
+    }
+
+    private ResponsePage<CategoryDto> withFetchPlan(ResponsePage<CategoryDto> page, boolean expandArticles) {
+        applyFetchPlan(page.getContent(), expandArticles);
+        return page;
+    }
+
+    private CategoryDto withFetchPlan(CategoryDto category, boolean expandArticles) {
+        applyFetchPlan(List.of(category), expandArticles);
+        return category;
+    }
+
+    // one query per fetched property for all given categories whatever their number, instead of walking
+    // the entity graph. expanded categories only show their first articles, the count covers all of them
+    private void applyFetchPlan(List<CategoryDto> categories, boolean expandArticles) {
+        if (categories.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = categories.stream().map(CategoryDto::getId).toList();
+        Map<Long, Long> articleCounts = articleRepository.countByCategoryIdIn(ids).stream()
+                .collect(Collectors.toMap(CategoryArticleCount::getCategoryId, CategoryArticleCount::getArticleCount));
+        categories.forEach(category -> category.setArticleCount(articleCounts.getOrDefault(category.getId(), 0L)));
+
+        if (expandArticles) {
+            Map<Long, List<ArticleSummaryDto>> articles = articleRepository
+                    .findFirstSummariesByCategoryIdIn(ids, EXPANDED_ARTICLES).stream()
+                    .collect(Collectors.groupingBy(ArticleSummaryDto::getCategoryId));
+            categories.forEach(category -> category.setArticles(articles.getOrDefault(category.getId(), List.of())));
+        }
+    }
+
+    // categories are read from the second-level cache, only what the fetch plan adds is queried
+    public String findETag(Long id, boolean expandArticles) {
+        Category category = findByIdInternal(id);
+
+        return ETagUtil.forVersion(category.getVersion(), articleValidators(List.of(id), expandArticles));
+    }
+
+    public String findPageETag(Integer pageNum, Sort sort, boolean count, boolean expandArticles) {
+        Slice<Category> slice = categoryRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        ResponsePage<List<Long>> validator = count
+                ? PageUtil.toResponsePage(slice, entityCountCache.count(Category.class, categoryRepository::count),
+                                          CategoryService::toValidator)
+                : PageUtil.toResponsePage(slice, CategoryService::toValidator);
+        List<Long> ids = slice.getContent().stream().map(Category::getId).toList();
+
+        return ETagUtil.forContent(List.of(validator, articleValidators(ids, expandArticles)));
+    }
+
+    // an unconditional GET tags the page with the categories and the fetch plan it loaded
+    public Tagged<ResponsePage<CategoryDto>> findTaggedPage(Integer pageNum, Sort sort, boolean count,
+                                                            boolean expandArticles) {
+        Slice<Category> slice = categoryRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        ResponsePage<Category> page = count
+                ? PageUtil.toResponsePage(slice, entityCountCache.count(Category.class, categoryRepository::count),
+                                          Function.identity())
+                : PageUtil.toResponsePage(slice, Function.identity());
+        ResponsePage<CategoryDto> categories = withFetchPlan(PageUtil.mapContent(page, this::mapToDto), expandArticles);
+        List<Object> validator = List.of(PageUtil.mapContent(page, CategoryService::toValidator),
+                                         loadedArticleValidators(categories.getContent(), expandArticles));
+
+        return new Tagged<>(ETagUtil.forContent(validator), categories);
+    }
+
+    public Tagged<CategoryDto> findTaggedById(Long id, boolean expandArticles) {
+        Category category = findByIdInternal(id);
+        CategoryDto categoryDto = withFetchPlan(mapToDto(category), expandArticles);
+        String etag = ETagUtil.forVersion(category.getVersion(),
+                                          loadedArticleValidators(List.of(categoryDto), expandArticles));
+
+        return new Tagged<>(etag, categoryDto);
+    }
+
+    private static List<Long> toValidator(Category category) {
+        return List.of(category.getId(), category.getVersion());
+    }
+
+    // the counts and the expanded summaries change with the articles, not with the category version
+    private List<List<Object>> articleValidators(List<Long> categoryIds, boolean expandArticles) {
+        if (categoryIds.isEmpty()) {
+            return List.of();
+        }
+        Stream<List<Object>> counts = articleRepository.countByCategoryIdIn(categoryIds).stream()
+                .sorted(Comparator.comparing(CategoryArticleCount::getCategoryId))
+                .map(count -> List.of(count.getCategoryId(), count.getArticleCount()));
+        if (!expandArticles) {
+            return counts.toList();
+        }
+        Stream<List<Object>> summaries = articleRepository
+                .findFirstSummaryVersionsByCategoryIdIn(categoryIds, EXPANDED_ARTICLES).stream()
+                .map(SummaryVersion::toValidator);
+        return Stream.concat(counts, summaries).toList();
+    }
+
+    // the same values as articleValidators, taken from categories the fetch plan was applied to
+    private static List<List<Object>> loadedArticleValidators(List<CategoryDto> categories, boolean expandArticles) {
+        Stream<List<Object>> counts = categories.stream()
+                .filter(category -> category.getArticleCount() > 0)
+                .sorted(Comparator.comparing(CategoryDto::getId))
+                .map(category -> List.of(category.getId(), category.getArticleCount()));
+        if (!expandArticles) {
+            return counts.toList();
+        }
+        Stream<List<Object>> summaries = categories.stream()
+                .flatMap(category -> category.getArticles().stream())
+                .sorted(Comparator.comparing(ArticleSummaryDto::getId))
+                .map(ArticleSummaryDto::toValidator);
+        return Stream.concat(counts, summaries).toList();
     }
 
     @Override
@@ -77,11 +280,11 @@ public class CategoryService implements EntityService<CategoryDto> {
     }
 
     private CategoryDto mapToDto(Category category) {
-        return modelMapper.map(category, CategoryDto.class);
+        return categoryMapper.toDto(category);
     }
 
     private Category mapToEntity(CategoryDto categoryDto) {
-        return modelMapper.map(categoryDto, Category.class);
+        return categoryMapper.toEntity(categoryDto);
     }
 
     private ApiException generateNotFound() {
@@ -0,0 +1,32 @@
+package com.blogify.service;
+
+import com.blogify.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recounts article comments from the comments table and fixes counters that drifted, e.g. after
+ * rows were changed directly in the database.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CommentCountReconciler {
+
+    private final ArticleRepository articleRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.comment-count.reconcile-cron:0 0 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int fixed = articleRepository.reconcileCommentCounts();
+        if (fixed > 0) {
+            log.info("Reconciled comment counts of {} articles", fixed);
+        }
+    }
+}
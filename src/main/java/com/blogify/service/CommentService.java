@@ -2,50 +2,131 @@ package com.blogify.service;
 
 import com.blogify.entity.Comment;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CommentMapper;
 import com.blogify.payload.CommentDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.repository.ArticleRepository;
 import com.blogify.repository.CommentRepository;
+import com.blogify.repository.CommentRepository.CommentVersion;
+import com.blogify.util.ConstraintUtil;
+import com.blogify.util.ETagUtil;
+import com.blogify.util.ETagUtil.Tagged;
+import com.blogify.util.PageUtil;
+import com.blogify.util.TransactionUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @Service
-public class CommentService implements EntityService<CommentDto> {
+public class CommentService implements EntityService<CommentDto, CommentDto> {
 
     public static final int PAGE_SIZE = 10;
+    private static final Sort ARTICLE_COMMENTS_SORT = Sort.by("id");
+    private static final Set<String> PATCHABLE = Set.of("content");
 
     private final CommentRepository commentRepository;
-    private final ModelMapper modelMapper;
+    private final EntityCountCache entityCountCache;
+    private final CommentMapper commentMapper;
     private final ArticleRepository articleRepository;
+    private final ArticleTrendingTracker articleTrendingTracker;
+    private final MergePatcher mergePatcher;
 
+    // the insert is checked by the comments unique constraint and article foreign key instead of
+    // looking up the article and an earlier comment first
     @Override
+    @Transactional
     public CommentDto create(CommentDto newComment) {
-        validateArticleExist(newComment.getArticleId());
-        validateComment(null, newComment.getArticleId(),  newComment.getFullName());
-        save(newComment);
+        Comment comment = toEntity(newComment);
+        comment.setArticle(articleRepository.getReferenceById(newComment.getArticleId()));
+
+        Comment saved;
+        try {
+            saved = commentRepository.saveAndFlush(comment);
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e, comment.getId(), newComment);
+        }
+        newComment.setId(saved.getId());
+        Long articleId = newComment.getArticleId();
+        articleRepository.adjustCommentCount(articleId, 1);
+        // the ranking is not transactional, a comment that is rolled back must not raise it
+        TransactionUtil.afterCommit(() -> articleTrendingTracker.recordComment(articleId));
 
         return newComment;
     }
 
+    // the comment's article is read first so that a move is reflected in the comment counts of both articles
     @Override
+    @Transactional
     public CommentDto update(Long id, CommentDto newComment) {
-        newComment.setId(id);
-        validateArticleExist(newComment.getArticleId());
-        validateComment(id,newComment.getArticleId(), newComment.getFullName());
-        save(newComment);
+        Long previousArticleId = commentRepository.findArticleIdById(id).orElseThrow(this::generateNotFound);
+        int updated;
+        try {
+            updated = commentRepository.updateByIdAndArticleId(id, previousArticleId, newComment.getContent(),
+                                                               newComment.getFullName(), newComment.getArticleId());
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e, id, newComment);
+        }
+        if (updated == 0) {
+            // moved or deleted by another request since its article was read, only a move is a conflict
+            if (commentRepository.findVersionById(id).isEmpty()) {
+                throw generateNotFound();
+            }
+            throw new ObjectOptimisticLockingFailureException(Comment.class, id);
+        }
+        if (!previousArticleId.equals(newComment.getArticleId())) {
+            articleRepository.adjustCommentCount(previousArticleId, -1);
+            articleRepository.adjustCommentCount(newComment.getArticleId(), 1);
+        }
 
+        newComment.setId(id);
         return newComment;
     }
 
-    private void save(CommentDto newComment) {
-        Comment save = commentRepository.save(toEntity(newComment));
-        newComment.setId(save.getId());
+    @Override
+    @Transactional
+    public CommentDto patch(Long id, JsonNode patch) {
+        Comment comment = findByIdInternal(id);
+        CommentDto patchedComment = mergePatcher.apply(patch, mapToDto(comment), PATCHABLE);
+
+        commentMapper.updateEntity(patchedComment, comment);
+
+        return patchedComment;
+    }
+
+    // schemas created before the constraints were named keep their generated names, ddl-auto=update
+    // never renames a constraint, so a violation that names neither is told apart by looking it up
+    private ApiException translateViolation(DataIntegrityViolationException e, Long id, CommentDto comment) {
+        if (ConstraintUtil.violates(e, Comment.UNIQUE_AUTHOR_PER_ARTICLE)) {
+            return generateDuplicateAuthor();
+        }
+        if (ConstraintUtil.violates(e, Comment.ARTICLE_FOREIGN_KEY)) {
+            return ApiException.notFound("Article not found");
+        }
+        if (!articleRepository.existsById(comment.getArticleId())) {
+            return ApiException.notFound("Article not found");
+        }
+        if (commentRepository.existsByFullNameAndArticleIdAndIdNot(comment.getFullName(), comment.getArticleId(), id)) {
+            return generateDuplicateAuthor();
+        }
+        throw e;
+    }
+
+    private static ApiException generateDuplicateAuthor() {
+        return ApiException.badRequest("You already posted comment for this Article");
     }
 
     private void validateArticleExist(Long articleId) {
@@ -55,31 +136,64 @@ public class CommentService implements EntityService<CommentDto> {
         }
     }
 
-    private void validateComment(Long commentId, Long articleId, String fullName) {
-        commentRepository.findByFullNameAndArticleId(fullName, articleId).ifPresent(comment -> {
-            if (comment.getArticle().getId().equals(articleId) && !comment.getId().equals(commentId)) {
-                throw new ApiException(HttpStatus.BAD_REQUEST,
-                    "You already posted comment for this Article"
-                );
-            }
-        });
 
-        if (commentId != null && !commentRepository.existsById(commentId)) {
-            throw generateNotFound();
-        }
+    @Override
+    public ResponsePage<CommentDto> findAll(Integer pageNum, Sort sort) {
+        Slice<Comment> slice = commentRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        long approximateTotal = entityCountCache.count(Comment.class, commentRepository::count);
+
+        return PageUtil.toResponsePage(slice, approximateTotal, this::mapToDto);
     }
 
     @Override
-    public ResponsePage<CommentDto> findAll(Integer pageNum, Sort sort) {
-        Page<Comment> page = commentRepository.findAll(PageRequest.of(pageNum, PAGE_SIZE, sort));
+    public ResponsePage<CommentDto> findSlice(Integer pageNum, Sort sort) {
+        Slice<Comment> slice = commentRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
 
-        return ResponsePage.<CommentDto>builder()
-                .page(pageNum)
-                .pageSize(PAGE_SIZE)
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .content(page.getContent().stream().map(this::mapToDto).toList())
-                .build();
+        return PageUtil.toResponsePage(slice, this::mapToDto);
+    }
+
+    @Override
+    public ResponsePage<CommentDto> findAllByCursor(String cursor, Sort sort) {
+        ScrollPosition position = PageUtil.decodeCursor(cursor, sort, Comment.class);
+        Window<Comment> window = commentRepository.findFirst10By(position, sort);
+
+        return PageUtil.toResponsePage(window, PAGE_SIZE, this::mapToDto);
+    }
+
+    public ResponsePage<CommentDto> findAllByArticle(Long articleId, String cursor) {
+        validateArticleExist(articleId);
+        ScrollPosition position = PageUtil.decodeCursor(cursor, ARTICLE_COMMENTS_SORT, Comment.class);
+        Window<Comment> window = commentRepository.findFirst10ByArticleId(articleId, position, ARTICLE_COMMENTS_SORT);
+
+        return PageUtil.toResponsePage(window, PAGE_SIZE, this::mapToDto);
+    }
+
+    // an unconditional GET tags the page with the versions of the comments it loaded
+    public Tagged<ResponsePage<CommentDto>> findTaggedPage(Integer pageNum, Sort sort, boolean count) {
+        Slice<Comment> slice = commentRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        ResponsePage<Comment> page = count
+                ? PageUtil.toResponsePage(slice, entityCountCache.count(Comment.class, commentRepository::count),
+                                          Function.identity())
+                : PageUtil.toResponsePage(slice, Function.identity());
+        Function<Comment, List<Long>> toValidator = comment -> List.of(comment.getId(), comment.getVersion());
+
+        return new Tagged<>(ETagUtil.forContent(PageUtil.mapContent(page, toValidator)),
+                            PageUtil.mapContent(page, this::mapToDto));
+    }
+
+    public String findETag(Long id) {
+        return ETagUtil.forVersion(commentRepository.findVersionById(id).orElseThrow(this::generateNotFound));
+    }
+
+    public String findPageETag(Integer pageNum, Sort sort, boolean count) {
+        Slice<CommentVersion> slice = commentRepository.findVersionsBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        Function<CommentVersion, List<Long>> toValidator = version -> List.of(version.getId(), version.getVersion());
+        ResponsePage<List<Long>> validator = count
+                ? PageUtil.toResponsePage(slice, entityCountCache.count(Comment.class, commentRepository::count),
+                                          toValidator)
+                : PageUtil.toResponsePage(slice, toValidator);
+
+        return ETagUtil.forContent(validator);
     }
 
     @Override
@@ -87,10 +201,17 @@ public class CommentService implements EntityService<CommentDto> {
         return mapToDto(findByIdInternal(id));
     }
 
+    public Tagged<CommentDto> findTaggedById(Long id) {
+        Comment comment = findByIdInternal(id);
+        return new Tagged<>(ETagUtil.forVersion(comment.getVersion()), mapToDto(comment));
+    }
+
     @Override
+    @Transactional
     public void deleteById(Long id) {
         Comment comment = findByIdInternal(id);
         commentRepository.delete(comment);
+        articleRepository.adjustCommentCount(comment.getArticle().getId(), -1);
     }
 
     private Comment findByIdInternal(Long id) {
@@ -102,11 +223,11 @@ public class CommentService implements EntityService<CommentDto> {
     }
 
     private CommentDto mapToDto(Comment comment) {
-        return modelMapper.map(comment, CommentDto.class);
+        return commentMapper.toDto(comment);
     }
 
     private Comment toEntity(CommentDto commentDto) {
-        return modelMapper.map(commentDto, Comment.class);
+        return commentMapper.toEntity(commentDto);
     }
 
 }
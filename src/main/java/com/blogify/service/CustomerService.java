@@ -2,47 +2,75 @@ package com.blogify.service;
 
 import com.blogify.entity.Customer;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CustomerMapper;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.CustomerDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.repository.CustomerRepository;
+import com.blogify.security.PrincipalCache;
+import com.blogify.security.RevokedPrincipalRegistry;
+import com.blogify.util.PageUtil;
+import com.blogify.util.TransactionUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @Service
-public class CustomerService implements EntityService<CustomerDto> {
+public class CustomerService implements EntityService<CustomerDto, CustomerDto> {
 
     private static final int PAGE_SIZE = 10;
+    private static final Set<String> PATCHABLE = Set.of("email", "password", "firstName", "lastName", "roles");
 
     private final CustomerRepository customerRepository;
+    private final EntityCountCache entityCountCache;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final CustomerMapper customerMapper;
+    private final RevokedPrincipalRegistry revokedPrincipalRegistry;
+    private final PrincipalCache principalCache;
+    private final MergePatcher mergePatcher;
 
     @Override
     public ResponsePage<CustomerDto> findAll(Integer pageNum, Sort sort) {
-        Page<Customer> page = customerRepository.findAll(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        Slice<Customer> slice = customerRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+        long approximateTotal = entityCountCache.count(Customer.class, customerRepository::count);
 
-        return ResponsePage.<CustomerDto>builder()
-                .page(pageNum)
-                .pageSize(PAGE_SIZE)
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .content(page.getContent().stream().map(this::mapToDto).toList())
-                .build();
+        return PageUtil.toResponsePage(slice, approximateTotal, this::mapToDto);
+    }
+
+    @Override
+    public ResponsePage<CustomerDto> findSlice(Integer pageNum, Sort sort) {
+        Slice<Customer> slice = customerRepository.findAllBy(PageRequest.of(pageNum, PAGE_SIZE, sort));
+
+        return PageUtil.toResponsePage(slice, this::mapToDto);
+    }
+
+    @Override
+    public ResponsePage<CustomerDto> findAllByCursor(String cursor, Sort sort) {
+        ScrollPosition position = PageUtil.decodeCursor(cursor, sort, Customer.class);
+        Window<Customer> window = customerRepository.findFirst10By(position, sort);
+
+        return PageUtil.toResponsePage(window, PAGE_SIZE, this::mapToDto);
     }
 
     @Override
     public void deleteById(Long customerId) {
         Customer customer = findByIdInternal(customerId);
         customerRepository.delete(customer);
+        forget(customer.getEmail(), customer.getEmail());
     }
 
     @Override
@@ -59,8 +87,35 @@ public class CustomerService implements EntityService<CustomerDto> {
         } else {
             newCustomer.setPassword(existingCustomer.getPassword());
         }
+        // the detached copy replaces the row, it is merged against the version that was read
+        newCustomer.setVersion(existingCustomer.getVersion());
+
+        CustomerDto updatedCustomer = mapToDto(customerRepository.save(newCustomer));
+        // roles or password may have changed, tokens issued before this point must not be trusted
+        forget(existingCustomer.getEmail(), customerDto.getEmail());
+
+        return updatedCustomer;
+    }
+
+    @Override
+    @Transactional
+    public CustomerDto patch(Long customerId, JsonNode patch) {
+        Customer customer = findByIdInternal(customerId);
+        String previousEmail = customer.getEmail();
+        CustomerDto patchedCustomer = mergePatcher.apply(patch, mapToDto(customer), PATCHABLE);
+        if (!Objects.equals(previousEmail, patchedCustomer.getEmail())) {
+            validateEmail(customerId, patchedCustomer.getEmail());
+        }
+
+        customerMapper.updateEntity(patchedCustomer, customer);
+        if (patchedCustomer.getPassword() != null) {
+            customer.setPassword(passwordEncoder.encode(patchedCustomer.getPassword()));
+            patchedCustomer.setPassword(null);
+        }
 
-        return mapToDto(customerRepository.save(newCustomer));
+        forget(previousEmail, patchedCustomer.getEmail());
+
+        return patchedCustomer;
     }
 
     @Override
@@ -78,12 +133,30 @@ public class CustomerService implements EntityService<CustomerDto> {
         }
     }
 
+    // a principal loaded before the commit would be cached again with the old roles and password
+    private void forget(String previousEmail, String email) {
+        TransactionUtil.afterCommit(() -> {
+            revokedPrincipalRegistry.revoke(previousEmail);
+            principalCache.evict(previousEmail);
+            if (!Objects.equals(previousEmail, email)) {
+                principalCache.evict(email);
+            }
+        });
+    }
+
     @Override
     public CustomerDto findById(Long customerId) {
         Customer customer = findByIdInternal(customerId);
         return mapToDto(customer);
     }
 
+    public BatchResponse<CustomerDto> findAllById(List<Long> ids) {
+        List<Long> requestedIds = PageUtil.parseBatchIds(ids);
+        return PageUtil.toBatchResponse(requestedIds, customerRepository.findAllByIdIn(requestedIds).stream()
+                .map(this::mapToDto)
+                .toList());
+    }
+
     public Customer findByEmail(String email) {
         return customerRepository.findByEmail(email).orElseThrow(this::generateCustomerNotFound);
     }
@@ -93,11 +166,11 @@ public class CustomerService implements EntityService<CustomerDto> {
     }
 
     private CustomerDto mapToDto(Customer customer) {
-        return modelMapper.map(customer, CustomerDto.class);
+        return customerMapper.toDto(customer);
     }
 
     private Customer mapToEntity(CustomerDto customerDto) {
-        return modelMapper.map(customerDto, Customer.class);
+        return customerMapper.toEntity(customerDto);
     }
 
     private Customer findByIdInternal(Long customerId) {
@@ -0,0 +1,43 @@
+package com.blogify.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate row counts used for page totals, so that listing a page does not run a COUNT(*) each time.
+ * Counts are loaded on first use and refreshed in the background.
+ */
+@Component
+public class EntityCountCache {
+
+    private final Map<Class<?>, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public long count(Class<?> entityClass, LongSupplier counter) {
+        return counts.computeIfAbsent(entityClass, key -> new CachedCount(counter)).value;
+    }
+
+    @Scheduled(fixedDelayString = "${app.count-cache.refresh-interval-ms:60000}",
+               initialDelayString = "${app.count-cache.refresh-interval-ms:60000}")
+    public void refresh() {
+        counts.values().forEach(CachedCount::refresh);
+    }
+
+    private static final class CachedCount {
+
+        private final LongSupplier counter;
+        private volatile long value;
+
+        private CachedCount(LongSupplier counter) {
+            this.counter = counter;
+            this.value = counter.getAsLong();
+        }
+
+        private void refresh() {
+            value = counter.getAsLong();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.blogify.service;
+
+import com.blogify.exception.ApiException;
+import com.blogify.payload.ArticleExportDto;
+import com.blogify.payload.CommentExportDto;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.repository.CommentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes every article or comment to an output stream as newline delimited JSON or CSV. Rows are
+ * read through a forward-only cursor in id order and written as they arrive, they are projected
+ * straight into dtos so that nothing accumulates in the persistence context, and the output is
+ * never collected in memory whatever the size of the table.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class EntityExporter {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportArticles(Format format, OutputStream output) throws IOException {
+        try (Stream<ArticleExportDto> articles = articleRepository.streamAllForExport()) {
+            long count = write(articles, ArticleExportDto.class, format, output);
+            log.info("Exported {} articles as {}", count, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportComments(Format format, OutputStream output) throws IOException {
+        try (Stream<CommentExportDto> comments = commentRepository.streamAllForExport()) {
+            long count = write(comments, CommentExportDto.class, format, output);
+            log.info("Exported {} comments as {}", count, format);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Class<T> type, Format format, OutputStream output) throws IOException {
+        long count = 0;
+        // the output stream belongs to the caller, and flushing every row would send a chunk per row
+        ObjectWriter writer = writerFor(type, format)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (SequenceWriter sequence = writer.writeValues(output)) {
+            for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                sequence.write(iterator.next());
+            }
+        }
+        output.flush();
+        return count;
+    }
+
+    private ObjectWriter writerFor(Class<?> type, Format format) {
+        return switch (format) {
+            case NDJSON -> objectMapper.writerFor(type).withRootValueSeparator("\n");
+            case CSV -> CSV_MAPPER.writerFor(type).with(CSV_MAPPER.schemaFor(type).withHeader());
+        };
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Unsupported export format: " + name);
+            }
+        }
+    }
+}
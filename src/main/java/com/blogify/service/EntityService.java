@@ -1,15 +1,22 @@
 package com.blogify.service;
 
 import com.blogify.payload.ResponsePage;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Sort;
 
-public interface EntityService<R> {
+public interface EntityService<R, L> {
 
     R create(R dto);
 
     R update(Long id, R dto);
 
-    ResponsePage<R> findAll(Integer page, Sort sort);
+    R patch(Long id, JsonNode patch);
+
+    ResponsePage<L> findAll(Integer page, Sort sort);
+
+    ResponsePage<L> findSlice(Integer page, Sort sort);
+
+    ResponsePage<L> findAllByCursor(String cursor, Sort sort);
 
     R findById(Long id);
 
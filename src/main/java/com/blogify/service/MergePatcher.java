@@ -0,0 +1,55 @@
+package com.blogify.service;
+
+import com.blogify.exception.ApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Applies JSON merge patches (RFC 7396) to dtos. Properties present in the patch replace the
+ * dto's values, a null removes the value and absent properties are kept. The patched dto is
+ * validated as a whole, with the same constraints as a full replacement.
+ */
+@RequiredArgsConstructor
+@Component
+public class MergePatcher {
+
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public <T> T apply(JsonNode patch, T target, Set<String> patchable) {
+        if (patch == null || !patch.isObject()) {
+            throw ApiException.badRequest("Patch must be a JSON object");
+        }
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!patchable.contains(name)) {
+                throw ApiException.badRequest("Property '" + name + "' cannot be patched");
+            }
+        }
+
+        T patched;
+        try {
+            // the dtos are flat, so replacing top level properties is the whole merge
+            patched = objectMapper.readerForUpdating(target).readValue(patch);
+        } catch (IOException e) {
+            throw ApiException.badRequest("Patch does not match the resource");
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return patched;
+    }
+}
@@ -0,0 +1,25 @@
+package com.blogify.util;
+
+import lombok.experimental.UtilityClass;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+@UtilityClass
+public class ConstraintUtil {
+
+    /**
+     * Whether the statement failed on the named constraint. Databases report the name with their own
+     * casing and schema prefix, so the reported name only has to contain it.
+     */
+    public static boolean violates(DataIntegrityViolationException exception, String constraintName) {
+        String constraint = exception.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (constraint == null) {
+            constraint = exception.getMostSpecificCause().getMessage();
+        }
+        return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+}
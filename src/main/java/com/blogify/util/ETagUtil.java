@@ -0,0 +1,154 @@
+package com.blogify.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags built from entity versions instead of from the response body, so that a
+ * conditional GET can be answered before anything is loaded, mapped or serialized.
+ */
+@UtilityClass
+public class ETagUtil {
+
+    // clients may store responses but must revalidate them, they depend on the caller's token
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    // a resource made of its own row only
+    public static String forVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // a resource that also shows other rows or counters, the version of its own row stays readable
+    public static String forVersion(long version, Object related) {
+        return "\"" + version + "-" + digest(related) + "\"";
+    }
+
+    // a resource whose body also shows a counter that every read changes. two bodies sent under the
+    // tag may differ in that counter, so the tag is weak
+    public static String forWeakVersion(long version, Object related) {
+        return WEAK_PREFIX + forVersion(version, related);
+    }
+
+    // a page of resources, the validator holds the versions and counters of everything on it
+    public static String forContent(Object validator) {
+        return "\"" + digest(validator) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header lists the tag. GET uses the weak comparison, so a tag a proxy
+     * marked as weak still matches.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = stripWeakPrefix(tag.trim());
+            if (tag.equals(ANY) || tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The versions an If-Match header allows a write on, or null when it sets no precondition. Writes
+     * use the strong comparison, so weak tags allow nothing. Only the version at the front of a tag is
+     * compared, a write replaces the entity's own columns and is not affected by the related rows a
+     * tag also covers.
+     */
+    public static List<Long> parseVersions(String ifMatch) {
+        return parseVersions(ifMatch, false);
+    }
+
+    /**
+     * The versions an If-Match header allows a write on, for a resource served with a weak tag. Only the
+     * version at the front of a tag is compared, weak or not. It changes with every write of the entity's
+     * own columns, which are all a write replaces, so the comparison of the version alone is strong.
+     */
+    public static List<Long> parseWeakVersions(String ifMatch) {
+        return parseVersions(ifMatch, true);
+    }
+
+    private static List<Long> parseVersions(String ifMatch, boolean weakTags) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals(ANY)) {
+                return null;
+            }
+            if (weakTags) {
+                tag = stripWeakPrefix(tag);
+            }
+            Long version = parseVersion(tag);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    private static Long parseVersion(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf('-');
+        String version = separator < 0 ? value : value.substring(0, separator);
+        if (version.isEmpty() || !version.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    /**
+     * A body with the tag taken from what was loaded for it. A GET without If-None-Match has nothing to
+     * compare, so it gets its tag this way instead of reading the versions in a query of their own.
+     */
+    public record Tagged<T>(String etag, T body) {
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
+
+    public static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(body);
+    }
+
+    public static <T> ResponseEntity<T> ok(Tagged<T> tagged) {
+        return ok(tagged.etag(), tagged.body());
+    }
+
+    private static String digest(Object validator) {
+        return DigestUtils.md5DigestAsHex(String.valueOf(validator).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,79 +1,245 @@
 package com.blogify.util;
 
 import com.blogify.exception.ApiException;
+import com.blogify.payload.BatchResponse;
+import com.blogify.payload.EntityDto;
+import com.blogify.payload.ResponsePage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @UtilityClass
 public class PageUtil {
 
+    public static final int MAX_BATCH_IDS = 100;
+
+    private static final ObjectMapper CURSOR_MAPPER = JsonMapper.builder().findAndAddModules().build();
+    private static final String ID_PROPERTY = "id";
+    private static final int MAX_CACHED_SORTS = 1024;
+    private static final Map<SortKey, Sort> SORT_CACHE = new ConcurrentHashMap<>();
+
     public static Sort parseSort(String[] sorts, Class<?> entityClass) {
         if (sorts == null || sorts.length == 0) {
             return Sort.unsorted();
         }
 
-        boolean isMultipleOrder = Arrays.stream(sorts).anyMatch(sort -> sort.contains(","));
+        SortKey key = new SortKey(entityClass, List.of(sorts));
+        Sort sort = SORT_CACHE.get(key);
+        if (sort == null) {
+            sort = buildSort(sorts, entityClass);
+            // only valid expressions get here, the bound keeps repeated-field variations from growing it forever
+            if (SORT_CACHE.size() < MAX_CACHED_SORTS) {
+                SORT_CACHE.putIfAbsent(key, sort);
+            }
+        }
+        return sort;
+    }
 
+    private static Sort buildSort(String[] sorts, Class<?> entityClass) {
         List<Sort.Order> orders = new ArrayList<>();
 
-        if (isMultipleOrder) {
+        if (Arrays.stream(sorts).anyMatch(sort -> sort.indexOf(',') >= 0)) {
             // Each sort parameter is a single string like "firstName,lastName,desc"
             for (String sort : sorts) {
-                String[] fields = sort.split(",");
-                if (fields.length == 0) {
-                    continue;
-                }
-
-                String lastField = fields[fields.length - 1];
-                try {
-                    Sort.Direction sortDirection = Sort.Direction.valueOf(lastField.toUpperCase());
-                    for (int i = 0; i < fields.length - 1; i++) {
-                        validateField(fields[i], entityClass);
-                        orders.add(new Sort.Order(sortDirection, fields[i]));
-                    }
-                } catch (IllegalArgumentException e) {
-                    // The last field is not a valid direction, treat all as ascending
-                    for (String field : fields) {
-                        validateField(field, entityClass);
-                        orders.add(new Sort.Order(Sort.Direction.ASC, field));
-                    }
-                }
+                addOrders(orders, sort.split(","), entityClass);
             }
         } else {
             // Each sort parameter is a separate string
-            if (sorts.length == 1) {
-                validateField(sorts[0], entityClass);
-                orders.add(new Sort.Order(Sort.Direction.ASC, sorts[0]));
+            addOrders(orders, sorts, entityClass);
+        }
+
+        return Sort.by(orders);
+    }
+
+    private static void addOrders(List<Sort.Order> orders, String[] tokens, Class<?> entityClass) {
+        if (tokens.length == 0) {
+            return;
+        }
+
+        int fieldCount = tokens.length;
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (tokens.length > 1) {
+            Optional<Sort.Direction> lastDirection = Sort.Direction.fromOptionalString(tokens[tokens.length - 1]);
+            if (lastDirection.isPresent()) {
+                direction = lastDirection.get();
+                fieldCount--;
+            }
+        }
+
+        for (int i = 0; i < fieldCount; i++) {
+            validateField(tokens[i], entityClass);
+            orders.add(new Sort.Order(direction, tokens[i]));
+        }
+    }
+
+    private static void validateField(String field, Class<?> entityClass) {
+        if (SortRegistry.sortableType(entityClass, field) != null) {
+            return;
+        }
+
+        if (SortRegistry.isProperty(entityClass, field)) {
+            throw ApiException.badRequest("Sorting by " + field + " is not supported, it is not indexed");
+        }
+        throw ApiException.badRequest("Field " + field + " not found in class " + entityClass.getName());
+    }
+
+    public static <T, R> ResponsePage<R> toResponsePage(Slice<T> slice, Function<T, R> mapper) {
+        return ResponsePage.<R>builder()
+                .page(slice.getNumber())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .content(slice.getContent().stream().map(mapper).toList())
+                .build();
+    }
+
+    // the approximate total is corrected whenever the slice itself proves it wrong
+    public static <T, R> ResponsePage<R> toResponsePage(Slice<T> slice, long approximateTotal,
+                                                         Function<T, R> mapper) {
+        long offset = (long) slice.getNumber() * slice.getSize();
+        long totalElements;
+        if (slice.hasNext()) {
+            totalElements = Math.max(approximateTotal, offset + slice.getNumberOfElements() + 1);
+        } else if (slice.hasContent() || slice.isFirst()) {
+            totalElements = offset + slice.getNumberOfElements();
+        } else {
+            totalElements = Math.min(approximateTotal, offset);
+        }
+
+        ResponsePage<R> responsePage = toResponsePage(slice, mapper);
+        responsePage.setTotalElements(totalElements);
+        responsePage.setTotalPages((int) ((totalElements + slice.getSize() - 1) / slice.getSize()));
+        return responsePage;
+    }
+
+    // the same page with every element mapped, e.g. to the values its tag is built from
+    public static <T, R> ResponsePage<R> mapContent(ResponsePage<T> page, Function<T, R> mapper) {
+        return ResponsePage.<R>builder()
+                .page(page.getPage())
+                .pageSize(page.getPageSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasNext(page.getHasNext())
+                .content(page.getContent().stream().map(mapper).toList())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public static <T, R> ResponsePage<R> toResponsePage(Window<T> window, int pageSize,
+                                                         Function<T, R> mapper) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(window.positionAt(window.size() - 1))
+                : null;
+
+        return ResponsePage.<R>builder()
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .content(window.getContent().stream().map(mapper).toList())
+                .build();
+    }
+
+    // repeated ids are answered once, in the position of their first occurrence
+    public static List<Long> parseBatchIds(List<Long> ids) {
+        List<Long> distinctIds = ids == null
+                ? List.of()
+                : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            throw ApiException.badRequest("At least one id is required");
+        }
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            throw ApiException.badRequest("At most " + MAX_BATCH_IDS + " ids can be requested at once");
+        }
+        return distinctIds;
+    }
+
+    public static <T extends EntityDto> BatchResponse<T> toBatchResponse(List<Long> ids, List<T> found) {
+        Map<Long, T> foundById = found.stream().collect(Collectors.toMap(EntityDto::getId, Function.identity()));
+        List<T> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T dto = foundById.get(id);
+            if (dto != null) {
+                content.add(dto);
             } else {
-                String lastField = sorts[sorts.length - 1];
-                try {
-                    Sort.Direction sortDirection = Sort.Direction.valueOf(lastField.toUpperCase());
-                    for (int i = 0; i < sorts.length - 1; i++) {
-                        validateField(sorts[i], entityClass);
-                        orders.add(new Sort.Order(sortDirection, sorts[i]));
-                    }
-                } catch (IllegalArgumentException e) {
-                    // The last field is not a valid direction, treat all as ascending
-                    for (String field : sorts) {
-                        validateField(field, entityClass);
-                        orders.add(new Sort.Order(Sort.Direction.ASC, field));
-                    }
-                }
+                missingIds.add(id);
             }
         }
+        return new BatchResponse<>(content, missingIds);
+    }
 
-        return Sort.by(orders);
+    public static ScrollPosition decodeCursor(String cursor, Sort sort, Class<?> entityClass) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, JsonNode> encodedKeys;
+        try {
+            encodedKeys = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor),
+                                                  new TypeReference<LinkedHashMap<String, JsonNode>>() {});
+        } catch (Exception e) {
+            throw ApiException.badRequest("Invalid cursor");
+        }
+
+        // a cursor is only valid for the sort it was produced with, which is always completed by id
+        Set<String> expectedKeys = new HashSet<>();
+        sort.forEach(order -> expectedKeys.add(order.getProperty()));
+        expectedKeys.add(ID_PROPERTY);
+        if (!expectedKeys.equals(encodedKeys.keySet())) {
+            throw ApiException.badRequest("Cursor does not match the requested sort");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        encodedKeys.forEach((property, value) -> keys.put(property, convertKey(property, value, entityClass)));
+
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encodeCursor(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalStateException("Only keyset positions can be encoded as cursor");
+        }
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(CURSOR_MAPPER.writeValueAsBytes(keysetPosition.getKeys()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cursor could not be encoded", e);
+        }
     }
 
-    private void validateField(String field, Class<?> entityClass) {
+    private static Object convertKey(String property, JsonNode value, Class<?> entityClass) {
+        Class<?> type = SortRegistry.sortableType(entityClass, property);
+        if (type == null) {
+            throw ApiException.badRequest("Invalid cursor");
+        }
+
         try {
-            entityClass.getDeclaredField(field);
-        } catch (NoSuchFieldException e) {
-            throw ApiException.badRequest("Field " + field + " not found in class " + entityClass.getName());
+            return CURSOR_MAPPER.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Invalid cursor");
         }
     }
-}
\ No newline at end of file
+
+    private record SortKey(Class<?> entityClass, List<String> expression) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.blogify.util;
+
+import com.blogify.entity.Article;
+import com.blogify.entity.Category;
+import com.blogify.entity.Comment;
+import com.blogify.entity.Customer;
+import jakarta.persistence.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sortable properties of the listed entities, collected once from their mapping annotations.
+ * A property is sortable when an index starts with its column: the id, unique columns and the
+ * leading column of a declared index or unique constraint. Sorting on anything else would make
+ * the database sort the whole table for every page.
+ */
+final class SortRegistry {
+
+    private static final Map<Class<?>, Entry> ENTRIES = Map.of(
+            Article.class, collect(Article.class),
+            Category.class, collect(Category.class),
+            Comment.class, collect(Comment.class),
+            Customer.class, collect(Customer.class)
+    );
+
+    private SortRegistry() {
+    }
+
+    static boolean isProperty(Class<?> entityClass, String property) {
+        return entry(entityClass).properties().contains(property);
+    }
+
+    static Class<?> sortableType(Class<?> entityClass, String property) {
+        return entry(entityClass).sortable().get(property);
+    }
+
+    private static Entry entry(Class<?> entityClass) {
+        Entry entry = ENTRIES.get(entityClass);
+        if (entry == null) {
+            throw new IllegalArgumentException("No sortable properties registered for " + entityClass.getName());
+        }
+        return entry;
+    }
+
+    private static Entry collect(Class<?> entityClass) {
+        Set<String> indexedColumns = leadingIndexColumns(entityClass.getAnnotation(Table.class));
+        Set<String> properties = new HashSet<>();
+        Map<String, Class<?>> sortable = new HashMap<>();
+
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!isBasicProperty(field)) {
+                    continue;
+                }
+
+                properties.add(field.getName());
+                Column column = field.getAnnotation(Column.class);
+                if (field.isAnnotationPresent(Id.class)
+                        || (column != null && column.unique())
+                        || indexedColumns.contains(columnName(field, column))) {
+                    sortable.put(field.getName(), field.getType());
+                }
+            }
+        }
+
+        return new Entry(Set.copyOf(properties), Map.copyOf(sortable));
+    }
+
+    private static Set<String> leadingIndexColumns(Table table) {
+        Set<String> columns = new HashSet<>();
+        if (table == null) {
+            return columns;
+        }
+
+        for (Index index : table.indexes()) {
+            columns.add(normalize(index.columnList().split(",")[0].trim().split("\\s+")[0]));
+        }
+        for (UniqueConstraint constraint : table.uniqueConstraints()) {
+            if (constraint.columnNames().length > 0) {
+                columns.add(normalize(constraint.columnNames()[0]));
+            }
+        }
+        return columns;
+    }
+
+    private static boolean isBasicProperty(Field field) {
+        return !Modifier.isStatic(field.getModifiers())
+                && !Modifier.isTransient(field.getModifiers())
+                && !field.isAnnotationPresent(Transient.class)
+                && !field.isAnnotationPresent(ManyToOne.class)
+                && !field.isAnnotationPresent(OneToOne.class)
+                && !field.isAnnotationPresent(OneToMany.class)
+                && !field.isAnnotationPresent(ManyToMany.class);
+    }
+
+    // same physical name as the snake case naming strategy configured by Spring Boot
+    private static String columnName(Field field, Column column) {
+        if (column != null && !column.name().isEmpty()) {
+            return normalize(column.name());
+        }
+        return normalize(field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2"));
+    }
+
+    private static String normalize(String column) {
+        return column.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Set<String> properties, Map<String, Class<?>> sortable) {
+    }
+}
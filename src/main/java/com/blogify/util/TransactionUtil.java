@@ -0,0 +1,28 @@
+package com.blogify.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Side effects outside of the database (caches, in-memory indexes) that must only become visible
+ * once the rows they describe are committed, and must not happen at all when they are rolled back.
+ */
+@UtilityClass
+public class TransactionUtil {
+
+    // runs the action after the surrounding transaction commits, or right away when there is none
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1 +1 @@
-INSERT INTO categories (name) VALUES ('Technology'), ('Health'), ('Environment'), ('Education'), ('Sports');
\ No newline at end of file
+INSERT INTO categories (id, name) VALUES (1, 'Technology'), (2, 'Health'), (3, 'Environment'), (4, 'Education'), (5, 'Sports');
\ No newline at end of file
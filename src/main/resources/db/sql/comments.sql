@@ -1,47 +1,47 @@
 -- Comments for article "The Future of AI"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('Adam Adams', 'Great insights on AI!', 1),
-       ('Amanda Anderson', 'Very informative article.', 1),
-       ('Adam Alexander', 'AI is indeed the future.', 1);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (1, 'Adam Adams', 'Great insights on AI!', 1),
+       (2, 'Amanda Anderson', 'Very informative article.', 1),
+       (3, 'Adam Alexander', 'AI is indeed the future.', 1);
 
 -- Comments for article "Health Benefits of a Balanced Diet"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('Betty Barnes', 'A balanced diet is very important.', 2),
-       ('Brian Bennett', 'I found this article very helpful.', 2),
-       ('Brenda Brown', 'Nutrition is key to a healthy life.', 2);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (4, 'Betty Barnes', 'A balanced diet is very important.', 2),
+       (5, 'Brian Bennett', 'I found this article very helpful.', 2),
+       (6, 'Brenda Brown', 'Nutrition is key to a healthy life.', 2);
 
 -- Comments for article "Climate Change and Its Impact"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('Carl Clarkson', 'Climate change is a serious issue.', 3),
-       ('Carol Connor', 'We need to take action now.', 3),
-       ('Charlotte Cameron', 'This article raises awareness.', 3);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (7, 'Carl Clarkson', 'Climate change is a serious issue.', 3),
+       (8, 'Carol Connor', 'We need to take action now.', 3),
+       (9, 'Charlotte Cameron', 'This article raises awareness.', 3);
 
 -- Comments for article "Advancements in Online Education"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('David Douglas', 'E-learning is the way forward.', 4),
-       ('Deborah Daniels', 'Online education has many benefits.', 4),
-       ('Derek Dawson', 'Interesting read on e-learning.', 4);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (10, 'David Douglas', 'E-learning is the way forward.', 4),
+       (11, 'Deborah Daniels', 'Online education has many benefits.', 4),
+       (12, 'Derek Dawson', 'Interesting read on e-learning.', 4);
 
 -- Comments for article "Top 10 Exercises for a Healthy Life"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('Edward Evans', 'Great exercise tips!', 5),
-       ('Elizabeth Ellis', 'I will try these exercises.', 5),
-       ('Emily Edwards', 'Very helpful article.', 5);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (13, 'Edward Evans', 'Great exercise tips!', 5),
+       (14, 'Elizabeth Ellis', 'I will try these exercises.', 5),
+       (15, 'Emily Edwards', 'Very helpful article.', 5);
 
 -- Comments for article "The Role of Technology in Modern Education"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('Frank Foster', 'Technology is changing education.', 6),
-       ('Fiona Fisher', 'Great insights on tech in education.', 6),
-       ('Frederick Fox', 'This article is very informative.', 6);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (16, 'Frank Foster', 'Technology is changing education.', 6),
+       (17, 'Fiona Fisher', 'Great insights on tech in education.', 6),
+       (18, 'Frederick Fox', 'This article is very informative.', 6);
 
 -- Comments for article "Protecting the Environment"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('George Gordon', 'We must protect our environment.', 7),
-       ('Gina Green', 'Everyone should read this.', 7),
-       ('Gregory Gray', 'Good tips on reducing carbon footprint.', 7);
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (19, 'George Gordon', 'We must protect our environment.', 7),
+       (20, 'Gina Green', 'Everyone should read this.', 7),
+       (21, 'Gregory Gray', 'Good tips on reducing carbon footprint.', 7);
 
 -- Comments for article "The Future of Sports"
-INSERT INTO comments (full_name, content, article_id)
-VALUES ('Harry Harrison', 'Technology is enhancing sports.', 8),
-       ('Helen Hart', 'Very interesting article.', 8),
-       ('Hannah Hughes', 'I enjoyed reading this.', 8);
\ No newline at end of file
+INSERT INTO comments (id, full_name, content, article_id)
+VALUES (22, 'Harry Harrison', 'Technology is enhancing sports.', 8),
+       (23, 'Helen Hart', 'Very interesting article.', 8),
+       (24, 'Hannah Hughes', 'I enjoyed reading this.', 8);
\ No newline at end of file
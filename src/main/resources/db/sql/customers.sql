@@ -1,31 +1,31 @@
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('adam.adams@example.com', '$2a$12$aCf07EJ8kS3DOWSH7z7rY.HYOeoTVUr.ht1iqqgDOeo9kaYr.l2VS', 'Adam', 'Adams', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('amanda.anderson@example.com', '$2a$12$aCf07EJ8kS3DOWSH7z7rY.HYOeoTVUr.ht1iqqgDOeo9kaYr.l2VS', 'Amanda', 'Anderson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('adam.alexander@example.com', '$2a$12$aCf07EJ8kS3DOWSH7z7rY.HYOeoTVUr.ht1iqqgDOeo9kaYr.l2VS', 'Adam', 'Alexander', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('betty.barnes@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Betty', 'Barnes', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('brian.bennett@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Brian', 'Bennett', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('brenda.brown@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Brenda', 'Brown', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('carl.clarkson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Carl', 'Clarkson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('carol.connor@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Carol', 'Connor', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('charlotte.cameron@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Charlotte', 'Cameron', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('david.douglas@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'David', 'Douglas', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('deborah.daniels@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Deborah', 'Daniels', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('derek.dawson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Derek', 'Dawson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('edward.evans@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Edward', 'Evans', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('elizabeth.ellis@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Elizabeth', 'Ellis', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('emily.edwards@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Emily', 'Edwards', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('frank.foster@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Frank', 'Foster', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('fiona.fisher@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Fiona', 'Fisher', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('frederick.fox@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Frederick', 'Fox', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('george.gordon@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'George', 'Gordon', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('gina.green@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Gina', 'Green', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('gregory.gray@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Gregory', 'Gray', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('harry.harrison@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Harry', 'Harrison', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('helen.hart@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Helen', 'Hart', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('hannah.hughes@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Hannah', 'Hughes', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('ian.irving@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Ian', 'Irving', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('irene.ives@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Irene', 'Ives', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('ivan.innes@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Ivan', 'Innes', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('jack.johnson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Jack', 'Johnson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('Julia.james@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Julia', 'James', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('jason.jackson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Jason', 'Jackson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO customers (email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES ('julia.jacobs@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Julia', 'Jacobs', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (1, 'adam.adams@example.com', '$2a$12$aCf07EJ8kS3DOWSH7z7rY.HYOeoTVUr.ht1iqqgDOeo9kaYr.l2VS', 'Adam', 'Adams', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (2, 'amanda.anderson@example.com', '$2a$12$aCf07EJ8kS3DOWSH7z7rY.HYOeoTVUr.ht1iqqgDOeo9kaYr.l2VS', 'Amanda', 'Anderson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (3, 'adam.alexander@example.com', '$2a$12$aCf07EJ8kS3DOWSH7z7rY.HYOeoTVUr.ht1iqqgDOeo9kaYr.l2VS', 'Adam', 'Alexander', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (4, 'betty.barnes@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Betty', 'Barnes', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (5, 'brian.bennett@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Brian', 'Bennett', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (6, 'brenda.brown@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Brenda', 'Brown', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (7, 'carl.clarkson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Carl', 'Clarkson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (8, 'carol.connor@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Carol', 'Connor', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (9, 'charlotte.cameron@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Charlotte', 'Cameron', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (10, 'david.douglas@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'David', 'Douglas', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (11, 'deborah.daniels@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Deborah', 'Daniels', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (12, 'derek.dawson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Derek', 'Dawson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (13, 'edward.evans@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Edward', 'Evans', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (14, 'elizabeth.ellis@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Elizabeth', 'Ellis', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (15, 'emily.edwards@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Emily', 'Edwards', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (16, 'frank.foster@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Frank', 'Foster', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (17, 'fiona.fisher@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Fiona', 'Fisher', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (18, 'frederick.fox@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Frederick', 'Fox', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (19, 'george.gordon@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'George', 'Gordon', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (20, 'gina.green@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Gina', 'Green', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (21, 'gregory.gray@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Gregory', 'Gray', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (22, 'harry.harrison@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Harry', 'Harrison', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (23, 'helen.hart@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Helen', 'Hart', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (24, 'hannah.hughes@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Hannah', 'Hughes', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (25, 'ian.irving@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Ian', 'Irving', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (26, 'irene.ives@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Irene', 'Ives', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (27, 'ivan.innes@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Ivan', 'Innes', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (28, 'jack.johnson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Jack', 'Johnson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (29, 'Julia.james@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Julia', 'James', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (30, 'jason.jackson@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Jason', 'Jackson', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (31, 'julia.jacobs@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Julia', 'Jacobs', 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
@@ -1,3 +1,3 @@
-INSERT INTO roles (name, description) VALUES ('ROLE_ADMIN', 'Administrator with full access');
-INSERT INTO roles (name, description) VALUES ('ROLE_EDITOR', 'Editor with access to edit content');
-INSERT INTO roles (name, description) VALUES ('ROLE_USER', 'Regular user with limited access');
\ No newline at end of file
+INSERT INTO roles (id, name, description) VALUES (1, 'ROLE_ADMIN', 'Administrator with full access');
+INSERT INTO roles (id, name, description) VALUES (2, 'ROLE_EDITOR', 'Editor with access to edit content');
+INSERT INTO roles (id, name, description) VALUES (3, 'ROLE_USER', 'Regular user with limited access');
\ No newline at end of file
@@ -1,8 +1,19 @@
 package com.blogify.controller;
 
+import com.blogify.exception.ApiException;
 import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleImportFailure;
+import com.blogify.payload.ArticleImportReport;
+import com.blogify.payload.ArticleSuggestionDto;
+import com.blogify.payload.CommentDto;
+import com.blogify.payload.ArticleSummaryDto;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.ResponsePage;
+import com.blogify.service.ArticleImporter;
 import com.blogify.service.ArticleService;
+import com.blogify.service.CommentService;
+import com.blogify.service.EntityExporter;
+import com.blogify.util.ETagUtil.Tagged;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,14 +22,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +49,15 @@ class ArticleControllerTest {
     @MockBean
     private ArticleService articleService;
 
+    @MockBean
+    private CommentService commentService;
+
+    @MockBean
+    private ArticleImporter articleImporter;
+
+    @MockBean
+    private EntityExporter entityExporter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -40,6 +65,7 @@ class ArticleControllerTest {
     private ObjectMapper objectMapper;
 
     private ArticleDto articleDto;
+    private ArticleSummaryDto articleSummaryDto;
 
     @BeforeEach
     void setUp() {
@@ -48,47 +74,158 @@ class ArticleControllerTest {
         articleDto.setTitle("Test Title");
         articleDto.setDescription("Test Description");
         articleDto.setContent("Test Content");
+
+        articleSummaryDto = new ArticleSummaryDto(ARTICLE_ID, "Test Title", "Test Description", null, 3, 0L);
     }
 
     @Test
     @WithMockUser
-    void whenListAll_thenReturnListOfArticles() throws Exception {
-        ArticleDto articleDto2 = new ArticleDto();
-        articleDto2.setId(2L);
-        articleDto2.setTitle("Test Title 2");
-        articleDto2.setDescription("Test Description 2");
-        articleDto2.setContent("Test Content 2");
-
-        ResponsePage<ArticleDto> responsePage = new ResponsePage<>();
-        responsePage.setContent(List.of(articleDto, articleDto2));
+    void whenListAll_thenReturnListOfArticleSummaries() throws Exception {
+        ArticleSummaryDto articleSummaryDto2 = new ArticleSummaryDto(2L, "Test Title 2", "Test Description 2", null, 0, 0L);
+
+        ResponsePage<ArticleSummaryDto> responsePage = new ResponsePage<>();
+        responsePage.setContent(List.of(articleSummaryDto, articleSummaryDto2));
         responsePage.setPage(0);
         responsePage.setPageSize(2);
         responsePage.setTotalElements(2L);
         responsePage.setTotalPages(1);
 
-        when(articleService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(articleService.findTaggedPage(anyInt(), any(Sort.class), eq(true))).thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(get(BASE_URL))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.content", hasSize(2)))
-                .andExpect(jsonPath("$.content[0].title").value(articleDto.getTitle()))
-                .andExpect(jsonPath("$.content[0].description").value(articleDto.getDescription()))
-                .andExpect(jsonPath("$.content[0].content").value(articleDto.getContent()));
+                .andExpect(jsonPath("$.content[0].title").value(articleSummaryDto.getTitle()))
+                .andExpect(jsonPath("$.content[0].description").value(articleSummaryDto.getDescription()))
+                .andExpect(jsonPath("$.content[0].commentCount").value(articleSummaryDto.getCommentCount()))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.content[0].comments").doesNotExist())
+                .andExpect(jsonPath("$.content[0].version").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"page\""));
+
+        verify(articleService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true));
+        verify(articleService, never()).findPageETag(anyInt(), any(Sort.class), anyBoolean());
+    }
+
+    @Test
+    @WithMockUser
+    void givenCountDisabled_whenListAll_thenReturnSliceWithoutTotals() throws Exception {
+        ResponsePage<ArticleSummaryDto> responsePage = ResponsePage.<ArticleSummaryDto>builder()
+                .page(0)
+                .pageSize(10)
+                .hasNext(true)
+                .content(List.of(articleSummaryDto))
+                .build();
+
+        when(articleService.findTaggedPage(anyInt(), any(Sort.class), eq(false))).thenReturn(new Tagged<>("\"page\"", responsePage));
+
+        mockMvc.perform(get(BASE_URL).param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
 
-        verify(articleService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(articleService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(false));
+    }
+
+    @Test
+    @WithMockUser
+    void givenCursor_whenListAll_thenSeekPageWithNextCursor() throws Exception {
+        ResponsePage<ArticleSummaryDto> responsePage = ResponsePage.<ArticleSummaryDto>builder()
+                .pageSize(10)
+                .content(List.of(articleSummaryDto))
+                .nextCursor("next")
+                .build();
+
+        when(articleService.findAllByCursor(eq(""), any(Sort.class))).thenReturn(responsePage);
+
+        mockMvc.perform(get(BASE_URL).param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(articleService, times(1)).findAllByCursor(eq(""), any(Sort.class));
+        verify(articleService, never()).findAll(anyInt(), any(Sort.class));
+    }
+
+    @Test
+    @WithMockUser
+    void givenQuery_whenSearch_thenRankedSummariesAreReturned() throws Exception {
+        when(articleService.search("test", 10)).thenReturn(List.of(articleSummaryDto));
+
+        mockMvc.perform(get(BASE_URL + "/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value(articleSummaryDto.getTitle()))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+
+        verify(articleService, times(1)).search("test", 10);
+        verify(articleService, never()).findById(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void givenPrefix_whenSuggest_thenTitlesAreReturned() throws Exception {
+        when(articleService.suggest("Te", 5)).thenReturn(List.of(new ArticleSuggestionDto(ARTICLE_ID, "Test Title")));
+
+        mockMvc.perform(get(BASE_URL + "/suggest").param("prefix", "Te").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(ARTICLE_ID))
+                .andExpect(jsonPath("$[0].title").value("Test Title"));
+
+        verify(articleService, times(1)).suggest("Te", 5);
+    }
+
+    @Test
+    @WithMockUser
+    void whenFindTrending_thenTrendingSummariesAreReturned() throws Exception {
+        when(articleService.findTrending(10)).thenReturn(List.of(articleSummaryDto));
+
+        mockMvc.perform(get(BASE_URL + "/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(ARTICLE_ID));
+
+        verify(articleService, times(1)).findTrending(10);
+        verify(articleService, never()).viewTaggedById(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void givenArticleId_whenFindComments_thenCommentPageWithNextCursorIsReturned() throws Exception {
+        CommentDto commentDto = new CommentDto("Great article", ARTICLE_ID, "John Doe");
+        commentDto.setId(5L);
+        ResponsePage<CommentDto> responsePage = ResponsePage.<CommentDto>builder()
+                .pageSize(10)
+                .content(List.of(commentDto))
+                .nextCursor("next")
+                .build();
+
+        when(commentService.findAllByArticle(ARTICLE_ID, "abc")).thenReturn(responsePage);
+
+        mockMvc.perform(get(BASE_URL + "/" + ARTICLE_ID + "/comments").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(commentService, times(1)).findAllByArticle(ARTICLE_ID, "abc");
+        verify(articleService, never()).viewTaggedById(anyLong());
     }
 
     @Test
     @WithMockUser
     void whenListAllWithPagination_thenReturnPaginatedListOfArticles() throws Exception {
-        ResponsePage<ArticleDto> responsePage = new ResponsePage<>();
-        responsePage.setContent(List.of(articleDto));
+        ResponsePage<ArticleSummaryDto> responsePage = new ResponsePage<>();
+        responsePage.setContent(List.of(articleSummaryDto));
         responsePage.setPage(1);
         responsePage.setPageSize(1);
         responsePage.setTotalElements(2L);
         responsePage.setTotalPages(2);
 
-        when(articleService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(articleService.findTaggedPage(anyInt(), any(Sort.class), eq(true))).thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(get(BASE_URL).param("page", "1").param("size", "1"))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -99,22 +236,64 @@ class ArticleControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2))
                 .andExpect(jsonPath("$.totalPages").value(2));
 
-        verify(articleService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(articleService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true));
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void givenArticleId_whenGetById_thenArticleAndStatus200IsReturned() throws Exception {
-        when(articleService.findById(ARTICLE_ID)).thenReturn(articleDto);
+        articleDto.setViewCount(5);
+        when(articleService.viewTaggedById(ARTICLE_ID)).thenReturn(new Tagged<>("W/\"2-abc\"", articleDto));
 
         mockMvc.perform(get(BASE_URL + "/" + ARTICLE_ID))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.title").value(articleDto.getTitle()))
                 .andExpect(jsonPath("$.description").value(articleDto.getDescription()))
-                .andExpect(jsonPath("$.content").value(articleDto.getContent()));
+                .andExpect(jsonPath("$.content").value(articleDto.getContent()))
+                .andExpect(jsonPath("$.viewCount").value(5))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2-abc\""));
+
+        verify(articleService, times(1)).viewTaggedById(ARTICLE_ID);
+        verify(articleService, never()).findETag(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void givenCurrentETag_whenGetById_thenNotModifiedWithoutLoadingArticle() throws Exception {
+        when(articleService.findETag(ARTICLE_ID)).thenReturn("W/\"2-abc\"");
+
+        mockMvc.perform(get(BASE_URL + "/" + ARTICLE_ID).header(HttpHeaders.IF_NONE_MATCH, "W/\"2-abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2-abc\""))
+                .andExpect(content().string(""));
 
-        verify(articleService, times(1)).findById(ARTICLE_ID);
+        verify(articleService, never()).viewTaggedById(anyLong());
+        verify(articleService, times(1)).recordView(ARTICLE_ID);
+    }
+
+    @Test
+    @WithMockUser
+    void givenStaleETag_whenGetById_thenArticleWithCurrentETag() throws Exception {
+        when(articleService.findETag(ARTICLE_ID)).thenReturn("W/\"3-abc\"");
+        when(articleService.viewTaggedById(ARTICLE_ID)).thenReturn(new Tagged<>("W/\"3-abc\"", articleDto));
+
+        mockMvc.perform(get(BASE_URL + "/" + ARTICLE_ID).header(HttpHeaders.IF_NONE_MATCH, "W/\"2-abc\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-abc\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.title").value(articleDto.getTitle()));
+    }
+
+    @Test
+    @WithMockUser
+    void givenCurrentETag_whenListAll_thenNotModifiedWithoutLoadingPage() throws Exception {
+        when(articleService.findPageETag(eq(0), any(Sort.class), eq(true))).thenReturn("\"page\"");
+
+        mockMvc.perform(get(BASE_URL).header(HttpHeaders.IF_NONE_MATCH, "\"page\""))
+                .andExpect(status().isNotModified());
+
+        verify(articleService, never()).findTaggedPage(anyInt(), any(Sort.class), anyBoolean());
     }
 
     @Test
@@ -137,7 +316,7 @@ class ArticleControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void givenArticleId_whenUpdateArticle_thenArticleUpdated() throws Exception {
-        when(articleService.update(ARTICLE_ID, articleDto)).thenReturn(articleDto);
+        when(articleService.update(ARTICLE_ID, articleDto, null)).thenReturn(articleDto);
 
         mockMvc.perform(put(BASE_URL + "/" + ARTICLE_ID)
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -148,7 +327,126 @@ class ArticleControllerTest {
                 .andExpect(jsonPath("$.description").value(articleDto.getDescription()))
                 .andExpect(jsonPath("$.content").value(articleDto.getContent()));
 
-        verify(articleService, times(1)).update(ARTICLE_ID, articleDto);
+        verify(articleService, times(1)).update(ARTICLE_ID, articleDto, null);
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void givenStaleIfMatch_whenUpdateArticle_thenPreconditionFailed() throws Exception {
+        when(articleService.update(ARTICLE_ID, articleDto, List.of(3L)))
+                .thenThrow(ApiException.preconditionFailed("Article was modified since the ETag in If-Match"));
+
+        mockMvc.perform(put(BASE_URL + "/" + ARTICLE_ID)
+                                .header(HttpHeaders.IF_MATCH, "W/\"3-0cc175b9c0f1b6a831c399e269772661\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(articleDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void givenNdjsonBody_whenImportArticles_thenReportIsReturned() throws Exception {
+        ArticleImportReport report = new ArticleImportReport(1, 1, List.of(new ArticleImportFailure(2, "Title already in use")));
+        when(articleImporter.importArticles(any(InputStream.class))).thenReturn(report);
+
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(objectMapper.writeValueAsString(articleDto) + "\n" + objectMapper.writeValueAsString(articleDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.failures[0].line").value(2))
+                .andExpect(jsonPath("$.failures[0].message").value("Title already in use"));
+
+        verify(articleImporter, times(1)).importArticles(any(InputStream.class));
+    }
+
+    @Test
+    @WithMockUser
+    void givenUserRole_whenImportArticles_thenForbidden() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(objectMapper.writeValueAsString(articleDto)))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(articleImporter);
+    }
+
+    @Test
+    @WithMockUser
+    void givenIds_whenFindAllById_thenSummariesInRequestedOrderAndMissingIds() throws Exception {
+        ArticleSummaryDto secondSummary = new ArticleSummaryDto(3L, "Test Title 3", "Test Description 3", null, 0, 0L);
+        when(articleService.findAllById(List.of(3L, 2L, ARTICLE_ID)))
+                .thenReturn(new BatchResponse<>(List.of(secondSummary, articleSummaryDto), List.of(2L)));
+
+        mockMvc.perform(get(BASE_URL).param("ids", "3,2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(3))
+                .andExpect(jsonPath("$.content[1].id").value(ARTICLE_ID))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+
+        verify(articleService, never()).findAll(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void givenCsvFormat_whenExportArticles_thenStreamedAsCsvAttachment() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id,title\n1,Test Title\n".getBytes());
+            return null;
+        }).when(entityExporter).exportArticles(eq(EntityExporter.Format.CSV), any(OutputStream.class));
+
+        mockMvc.perform(get(BASE_URL + "/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"articles.csv\""))
+                .andExpect(content().string("id,title\n1,Test Title\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void givenUnknownFormat_whenExportArticles_thenBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(entityExporter);
+    }
+
+    @Test
+    @WithMockUser
+    void givenUserRole_whenExportArticles_thenForbidden() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/export"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(entityExporter);
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void givenMergePatch_whenPatchArticle_thenArticlePatched() throws Exception {
+        String patch = "{\"title\": \"Test Title\"}";
+        when(articleService.patch(eq(ARTICLE_ID), any(), isNull())).thenReturn(articleDto);
+
+        mockMvc.perform(patch(BASE_URL + "/" + ARTICLE_ID)
+                                .contentType("application/merge-patch+json")
+                                .content(patch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(articleDto.getTitle()));
+
+        verify(articleService, times(1)).patch(ARTICLE_ID, objectMapper.readTree(patch), null);
+    }
+
+    @Test
+    @WithMockUser(roles = "EDITOR")
+    void givenPlainJson_whenPatchArticle_thenUnsupportedMediaType() throws Exception {
+        mockMvc.perform(patch(BASE_URL + "/" + ARTICLE_ID)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\": \"Test Title\"}"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(articleService);
     }
 
     @Test
@@ -1,8 +1,10 @@
 package com.blogify.controller;
 
+import com.blogify.payload.ArticleSummaryDto;
 import com.blogify.payload.CategoryDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.service.CategoryService;
+import com.blogify.util.ETagUtil.Tagged;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -62,7 +65,8 @@ class CategoryControllerTest {
         responsePage.setTotalElements(2L);
         responsePage.setTotalPages(1);
 
-        when(categoryService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(categoryService.findTaggedPage(anyInt(), any(Sort.class), eq(true), eq(false)))
+                .thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(get(BASE_URL))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -70,7 +74,7 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value(categoryDto.getName()))
                 .andExpect(jsonPath("$.content[1].name").value(categoryDto2.getName()));
 
-        verify(categoryService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(categoryService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true), eq(false));
     }
 
     @Test
@@ -83,7 +87,8 @@ class CategoryControllerTest {
         responsePage.setTotalElements(2L);
         responsePage.setTotalPages(2);
 
-        when(categoryService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(categoryService.findTaggedPage(anyInt(), any(Sort.class), eq(true), eq(false)))
+                .thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(get(BASE_URL).param("page", "1").param("size", "1"))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -94,7 +99,7 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2))
                 .andExpect(jsonPath("$.totalPages").value(2));
 
-        verify(categoryService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(categoryService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true), eq(false));
     }
 
     @Test
@@ -114,7 +119,8 @@ class CategoryControllerTest {
         responsePage.setTotalElements(0L);
         responsePage.setTotalPages(0);
 
-        when(categoryService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(categoryService.findTaggedPage(anyInt(), any(Sort.class), eq(true), eq(false)))
+                .thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(get(BASE_URL))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -122,21 +128,74 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(0))
                 .andExpect(jsonPath("$.totalPages").value(0));
 
-        verify(categoryService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(categoryService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true), eq(false));
     }
 
 
     @Test
     @WithMockUser
     void givenCategoryId_whenGetById_thenCategoryAndStatus200IsReturned() throws Exception {
-        when(categoryService.findById(CATEGORY_ID)).thenReturn(categoryDto);
+        when(categoryService.findTaggedById(CATEGORY_ID, false)).thenReturn(new Tagged<>("\"0-abc\"", categoryDto));
 
         mockMvc.perform(get(BASE_URL + "/" + CATEGORY_ID))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.name").value(categoryDto.getName()));
+                .andExpect(jsonPath("$.name").value(categoryDto.getName()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-abc\""));
+
+        verify(categoryService, times(1)).findTaggedById(CATEGORY_ID, false);
+        verify(categoryService, never()).findETag(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @WithMockUser
+    void givenCategoryId_whenGetById_thenArticlesAreOmittedAndCounted() throws Exception {
+        categoryDto.setArticleCount(3);
+        when(categoryService.findTaggedById(CATEGORY_ID, false)).thenReturn(new Tagged<>("\"0-abc\"", categoryDto));
+
+        mockMvc.perform(get(BASE_URL + "/" + CATEGORY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articleCount").value(3))
+                .andExpect(jsonPath("$.articles").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void givenExpandArticles_whenGetById_thenArticleSummariesAreIncluded() throws Exception {
+        categoryDto.setArticles(List.of(new ArticleSummaryDto(5L, "Title", "Description", CATEGORY_ID, 2, 0L)));
+        categoryDto.setArticleCount(1);
+        when(categoryService.findTaggedById(CATEGORY_ID, true)).thenReturn(new Tagged<>("\"0-abc\"", categoryDto));
+
+        mockMvc.perform(get(BASE_URL + "/" + CATEGORY_ID).param("expand", "articles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.articles", hasSize(1)))
+                .andExpect(jsonPath("$.articles[0].title").value("Title"))
+                .andExpect(jsonPath("$.articles[0].content").doesNotExist());
+
+        verify(categoryService, times(1)).findTaggedById(CATEGORY_ID, true);
+    }
+
+    @Test
+    @WithMockUser
+    void givenCurrentETag_whenGetById_thenNotModified() throws Exception {
+        when(categoryService.findETag(CATEGORY_ID, true)).thenReturn("\"0-abc\"");
+
+        mockMvc.perform(get(BASE_URL + "/" + CATEGORY_ID).param("expand", "articles")
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"0-abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-abc\""));
+
+        verify(categoryService, never()).findTaggedById(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @WithMockUser
+    void givenUnknownExpand_whenListAll_thenBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("expand", "comments"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Property 'comments' cannot be expanded"));
 
-        verify(categoryService, times(1)).findById(CATEGORY_ID);
+        verifyNoInteractions(categoryService);
     }
 
     @Test
@@ -4,8 +4,10 @@ package com.blogify.controller;
 import com.blogify.entity.Customer;
 import com.blogify.payload.CommentDto;
 import com.blogify.payload.ResponsePage;
+import com.blogify.security.JwtPrincipal;
 import com.blogify.service.CommentService;
 import com.blogify.service.CustomerService;
+import com.blogify.util.ETagUtil.Tagged;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,8 +16,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -26,6 +31,7 @@ import static com.blogify.util.CommentTestUtil.generateDummyCommentDto;
 import static com.blogify.util.CustomerTestUtil.generateDummyCustomer;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
@@ -70,7 +76,7 @@ class CommentControllerTest {
         responsePage.setTotalElements(2L);
         responsePage.setTotalPages(1);
 
-        when(commentService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(commentService.findTaggedPage(anyInt(), any(Sort.class), eq(true))).thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -80,7 +86,7 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.content[1].fullName").value(commentDto2.getFullName()))
                 .andExpect(jsonPath("$.content[1].content").value(commentDto2.getContent()));
 
-        verify(commentService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(commentService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true));
     }
 
     @Test
@@ -93,7 +99,7 @@ class CommentControllerTest {
         responsePage.setTotalElements(2L);
         responsePage.setTotalPages(2);
 
-        when(commentService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(commentService.findTaggedPage(anyInt(), any(Sort.class), eq(true))).thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL).param("page", "1").param("size", "1"))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -104,7 +110,7 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2))
                 .andExpect(jsonPath("$.totalPages").value(2));
 
-        verify(commentService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(commentService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true));
     }
 
     @Test
@@ -124,7 +130,7 @@ class CommentControllerTest {
         responsePage.setTotalElements(0L);
         responsePage.setTotalPages(0);
 
-        when(commentService.findAll(anyInt(), any(Sort.class))).thenReturn(responsePage);
+        when(commentService.findTaggedPage(anyInt(), any(Sort.class), eq(true))).thenReturn(new Tagged<>("\"page\"", responsePage));
 
         mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -132,21 +138,36 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(0))
                 .andExpect(jsonPath("$.totalPages").value(0));
 
-        verify(commentService, times(1)).findAll(anyInt(), any(Sort.class));
+        verify(commentService, times(1)).findTaggedPage(anyInt(), any(Sort.class), eq(true));
     }
 
     @Test
     @WithMockUser
     void givenCommentId_whenFindById_thenReturnComment() throws Exception {
-        when(commentService.findById(COMMENT_ID)).thenReturn(commentDto);
+        when(commentService.findTaggedById(COMMENT_ID)).thenReturn(new Tagged<>("\"1\"", commentDto));
 
         mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/" + COMMENT_ID))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.fullName").value(commentDto.getFullName()))
-                .andExpect(jsonPath("$.content").value(commentDto.getContent()));
+                .andExpect(jsonPath("$.content").value(commentDto.getContent()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
 
-        verify(commentService, times(1)).findById(COMMENT_ID);
+        verify(commentService, times(1)).findTaggedById(COMMENT_ID);
+        verify(commentService, never()).findETag(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void givenCurrentETag_whenFindById_thenNotModified() throws Exception {
+        when(commentService.findETag(COMMENT_ID)).thenReturn("\"1\"");
+
+        mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/" + COMMENT_ID)
+                                .header(HttpHeaders.IF_NONE_MATCH, "W/\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        verify(commentService, never()).findTaggedById(anyLong());
     }
 
     @Test
@@ -171,6 +192,25 @@ class CommentControllerTest {
         verify(commentService, times(1)).create(any(CommentDto.class));
     }
 
+    @Test
+    void givenJwtPrincipal_whenCreate_thenFullNameComesFromPrincipalWithoutLookup() throws Exception {
+        commentDto.setArticleId(1L);
+        JwtPrincipal principal = new JwtPrincipal("jane@gmail.com", "Jane", "Doe",
+                                                  List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        when(commentService.create(any(CommentDto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(BASE_URL)
+                                .with(authentication(new UsernamePasswordAuthenticationToken(
+                                        principal, null, principal.getAuthorities())))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(commentDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fullName").value("Jane Doe"));
+
+        verifyNoInteractions(customerService);
+    }
+
     @Test
     @WithMockUser(roles = "EDITOR", username = "test@gmail.com")
     void givenValidComment_whenUpdate_thenReturnUpdatedComment() throws Exception {
@@ -1,6 +1,7 @@
 package com.blogify.controller;
 
 import com.blogify.entity.Customer;
+import com.blogify.payload.BatchResponse;
 import com.blogify.payload.CustomerDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.service.CustomerService;
@@ -78,6 +79,28 @@ class CustomerControllerTest {
         verify(customerService, times(1)).findAll(anyInt(), any(Sort.class));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void givenIds_whenFindAllById_thenCustomersAndMissingIds() throws Exception {
+        when(customerService.findAllById(List.of(CUSTOMER_ID, 404L)))
+                .thenReturn(new BatchResponse<>(List.of(customerDto), List.of(404L)));
+
+        mockMvc.perform(get(BASE_URL).param("ids", "1,404"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].email").value(customerDto.getEmail()))
+                .andExpect(jsonPath("$.missingIds[0]").value(404));
+    }
+
+    @Test
+    @WithMockUser
+    void givenUserRole_whenFindAllById_thenForbidden() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("ids", "1"))
+                .andExpect(status().isForbidden());
+
+        verify(customerService, never()).findAllById(any());
+    }
+
     @Test
     @WithMockUser
     void whenFindAllWithPagination_thenReturnPaginatedListOfCustomers() throws Exception {
@@ -0,0 +1,123 @@
+package com.blogify.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSortedIdGeneratorTest {
+
+    private static final int SECOND_SHIFT = TimeSortedIdGenerator.NODE_BITS + TimeSortedIdGenerator.COUNTER_BITS;
+
+    private final AtomicLong clock = new AtomicLong(TimeSortedIdGenerator.EPOCH_SECOND + 1_000);
+    private final AtomicInteger pauses = new AtomicInteger();
+
+    @Test
+    void givenSameSecond_whenNext_thenIdsIncrease() {
+        TimeSortedIdGenerator generator = generator(0);
+        clock.incrementAndGet();
+
+        long first = generator.next();
+        long second = generator.next();
+
+        assertEquals(first + 1, second);
+        assertEquals(1_001, first >>> SECOND_SHIFT);
+        assertEquals(0, pauses.get());
+    }
+
+    @Test
+    void givenSecondTheGeneratorWasCreatedIn_whenNext_thenWaitsForNextSecond() {
+        TimeSortedIdGenerator generator = generator(0);
+
+        long id = generator.next();
+
+        assertEquals(1, pauses.get());
+        assertEquals(1_001, id >>> SECOND_SHIFT);
+    }
+
+    @Test
+    void givenLaterSecond_whenNext_thenCounterRestarts() {
+        TimeSortedIdGenerator generator = generator(0);
+        clock.incrementAndGet();
+        generator.next();
+        generator.next();
+
+        clock.incrementAndGet();
+        long id = generator.next();
+
+        assertEquals(0, id & TimeSortedIdGenerator.MAX_COUNTER);
+        assertEquals(1_002, id >>> SECOND_SHIFT);
+    }
+
+    @Test
+    void givenExhaustedCounter_whenNext_thenWaitsForNextSecondInsteadOfRunningAhead() {
+        TimeSortedIdGenerator generator = generator(0);
+        clock.incrementAndGet();
+        long last = 0;
+        for (long i = 0; i <= TimeSortedIdGenerator.MAX_COUNTER; i++) {
+            last = generator.next();
+        }
+        assertEquals(0, pauses.get());
+
+        long id = generator.next();
+
+        assertTrue(id > last);
+        assertEquals(1, pauses.get());
+        assertEquals(1_002, id >>> SECOND_SHIFT);
+        assertEquals(clock.get() - TimeSortedIdGenerator.EPOCH_SECOND, id >>> SECOND_SHIFT);
+    }
+
+    @Test
+    void givenClockGoingBack_whenNext_thenIdsStillIncrease() {
+        TimeSortedIdGenerator generator = generator(0);
+        clock.incrementAndGet();
+        long first = generator.next();
+
+        clock.addAndGet(-10);
+
+        assertTrue(generator.next() > first);
+        assertEquals(0, pauses.get());
+    }
+
+    @Test
+    void givenRestartInSameSecond_whenNext_thenIdsOfEarlierRunAreNotReissued() {
+        clock.incrementAndGet();
+        long lastOfEarlierRun = generator(0).next();
+
+        long firstOfNewRun = generator(0).next();
+
+        assertTrue(firstOfNewRun > lastOfEarlierRun);
+    }
+
+    @Test
+    void givenDifferentNodes_whenNext_thenIdsDiffer() {
+        long first = generator(1).next();
+        long second = generator(2).next();
+
+        assertNotEquals(first, second);
+        assertEquals(2, (second >>> TimeSortedIdGenerator.COUNTER_BITS) & TimeSortedIdGenerator.MAX_NODE);
+    }
+
+    @Test
+    void givenCenturyAfterEpoch_whenNext_thenIdIsSafeJavaScriptInteger() {
+        clock.set(TimeSortedIdGenerator.EPOCH_SECOND + 100L * 365 * 24 * 3600);
+        TimeSortedIdGenerator generator = generator(TimeSortedIdGenerator.MAX_NODE);
+
+        assertTrue(generator.next() < (1L << 53));
+    }
+
+    @Test
+    void givenNodeOutOfRange_whenCreate_thenIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> generator(32));
+    }
+
+    // a pause lets a second pass
+    private TimeSortedIdGenerator generator(long node) {
+        return new TimeSortedIdGenerator(node, clock::get, () -> {
+            pauses.incrementAndGet();
+            clock.incrementAndGet();
+        });
+    }
+}
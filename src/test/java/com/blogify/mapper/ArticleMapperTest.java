@@ -0,0 +1,83 @@
+package com.blogify.mapper;
+
+import com.blogify.entity.Article;
+import com.blogify.entity.Category;
+import com.blogify.entity.Comment;
+import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleSummaryDto;
+import com.blogify.payload.CommentDto;
+import com.blogify.util.CommentTestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.blogify.util.ArticleTestUtil.generateDummyComment;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleMapperTest {
+
+    private final ArticleMapper articleMapper = new ArticleMapperImpl(new CommentMapperImpl());
+
+    private Article article;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setId(2L);
+
+        article = generateDummyComment();
+        article.setCategory(category);
+        article.addComment(CommentTestUtil.generateDummyComment());
+    }
+
+    @Test
+    void givenArticle_whenToDto_thenFieldsCategoryIdAndCommentsAreMapped() {
+        ArticleDto articleDto = articleMapper.toDto(article);
+
+        assertEquals(article.getId(), articleDto.getId());
+        assertEquals(article.getTitle(), articleDto.getTitle());
+        assertEquals(article.getDescription(), articleDto.getDescription());
+        assertEquals(article.getContent(), articleDto.getContent());
+        assertEquals(2L, articleDto.getCategoryId());
+        assertEquals(1, articleDto.getComments().size());
+
+        CommentDto commentDto = articleDto.getComments().get(0);
+        Comment comment = article.getComments().get(0);
+        assertEquals(comment.getContent(), commentDto.getContent());
+        assertEquals(comment.getFullName(), commentDto.getFullName());
+        assertEquals(article.getId(), commentDto.getArticleId());
+    }
+
+    @Test
+    void givenArticleWithoutCategory_whenToSummary_thenCategoryIdIsNull() {
+        article.setCategory(null);
+        article.setCommentCount(5);
+
+        ArticleSummaryDto summary = articleMapper.toSummary(article);
+
+        assertEquals(article.getId(), summary.getId());
+        assertEquals(article.getTitle(), summary.getTitle());
+        assertNull(summary.getCategoryId());
+        assertEquals(5L, summary.getCommentCount());
+    }
+
+    @Test
+    void givenArticleDto_whenToEntity_thenCategoryIsReferencedAndCommentsAreNotWritten() {
+        ArticleDto articleDto = articleMapper.toDto(article);
+
+        Article entity = articleMapper.toEntity(articleDto);
+
+        assertEquals(articleDto.getTitle(), entity.getTitle());
+        assertEquals(2L, entity.getCategory().getId());
+        assertNull(entity.getCategory().getName());
+        assertNull(entity.getComments());
+    }
+
+    @Test
+    void givenNoCategoryId_whenToEntity_thenCategoryIsNull() {
+        ArticleDto articleDto = new ArticleDto("Title", "Description", "Content", null, 0, List.of());
+
+        assertNull(articleMapper.toEntity(articleDto).getCategory());
+    }
+}
@@ -0,0 +1,57 @@
+package com.blogify.mapper;
+
+import com.blogify.entity.Customer;
+import com.blogify.payload.CustomerDto;
+import com.blogify.payload.RegistrationRequest;
+import com.blogify.payload.RoleDto;
+import org.junit.jupiter.api.Test;
+
+import static com.blogify.util.CustomerTestUtil.generateDummyCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerMapperTest {
+
+    private final CustomerMapper customerMapper = new CustomerMapperImpl(new RoleMapperImpl());
+
+    @Test
+    void givenCustomer_whenToDto_thenPasswordIsNotExposed() {
+        Customer customer = generateDummyCustomer();
+
+        CustomerDto customerDto = customerMapper.toDto(customer);
+
+        assertEquals(customer.getId(), customerDto.getId());
+        assertEquals(customer.getEmail(), customerDto.getEmail());
+        assertEquals(customer.getFirstName(), customerDto.getFirstName());
+        assertEquals(customer.getLastName(), customerDto.getLastName());
+        assertNull(customerDto.getPassword());
+        assertEquals(2, customerDto.getRoles().size());
+        assertTrue(customerDto.getRoles().stream().map(RoleDto::getName).anyMatch("ROLE_ADMIN"::equals));
+    }
+
+    @Test
+    void givenCustomerDto_whenToEntity_thenPasswordAndRolesAreMapped() {
+        CustomerDto customerDto = customerMapper.toDto(generateDummyCustomer());
+        customerDto.setPassword("newPassword");
+
+        Customer customer = customerMapper.toEntity(customerDto);
+
+        assertEquals(customerDto.getEmail(), customer.getEmail());
+        assertEquals("newPassword", customer.getPassword());
+        assertEquals(2, customer.getRoles().size());
+        assertFalse(customer.isEnabled());
+    }
+
+    @Test
+    void givenRegistrationRequest_whenFromRegistration_thenCustomerWithoutIdAndRoles() {
+        RegistrationRequest request = new RegistrationRequest("john@doe.com", "John", "Doe", "password");
+
+        Customer customer = customerMapper.fromRegistration(request);
+
+        assertNull(customer.getId());
+        assertNull(customer.getRoles());
+        assertEquals("john@doe.com", customer.getEmail());
+        assertEquals("password", customer.getPassword());
+        assertEquals("John", customer.getFirstName());
+        assertEquals("Doe", customer.getLastName());
+    }
+}
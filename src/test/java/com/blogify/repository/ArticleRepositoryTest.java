@@ -2,17 +2,27 @@ package com.blogify.repository;
 
 import com.blogify.entity.Article;
 import com.blogify.entity.Comment;
+import com.blogify.payload.ArticleSummaryDto;
+import com.blogify.service.ArticleViewCounter;
 import com.blogify.util.TestUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.blogify.util.ArticleTestUtil.generateDummyArticle;
 import static com.blogify.util.CommentTestUtil.generateDummyComment;
@@ -29,6 +39,12 @@ class ArticleRepositoryTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void givenArticles_whenFindById_thenReturnArticle() {
         // Given
@@ -144,6 +160,154 @@ class ArticleRepositoryTest {
         assertEquals(2, articles.getTotalPages());
     }
 
+    @Test
+    void givenArticlesWithComments_whenFindSummariesBy_thenReturnSummariesWithCommentCounts() {
+        Slice<ArticleSummaryDto> summaries = articleRepository.findSummariesBy(PageRequest.of(0, 5, Sort.by("id")));
+        Article firstArticle = articleRepository.findById(1L).orElseThrow();
+
+        assertEquals(5, summaries.getNumberOfElements());
+        assertTrue(summaries.hasNext());
+        assertEquals(1L, summaries.getContent().get(0).getId());
+        assertEquals(firstArticle.getTitle(), summaries.getContent().get(0).getTitle());
+        assertEquals(firstArticle.getComments().size(), summaries.getContent().get(0).getCommentCount());
+    }
+
+    @Test
+    void givenArticleIds_whenFindSummariesByIdIn_thenReturnOnlyThoseSummaries() {
+        List<ArticleSummaryDto> summaries = articleRepository.findSummariesByIdIn(List.of(3L, 1L));
+
+        assertEquals(Set.of(1L, 3L), summaries.stream().map(ArticleSummaryDto::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void givenLastSeenId_whenFindTop500ByIdGreaterThan_thenReturnFollowingArticlesInIdOrder() {
+        List<Article> articles = articleRepository.findTop500ByIdGreaterThanOrderByIdAsc(2L);
+
+        assertFalse(articles.isEmpty());
+        assertEquals(3L, articles.get(0).getId());
+        assertEquals(articleRepository.count() - 2, articles.size());
+    }
+
+    @Test
+    void givenRecordedViews_whenFlush_thenViewCountIsIncremented() {
+        ArticleViewCounter articleViewCounter = new ArticleViewCounter(jdbcTemplate);
+        articleViewCounter.record(1L);
+        articleViewCounter.record(1L);
+
+        articleViewCounter.flush();
+        entityManager.clear();
+
+        assertEquals(2, articleRepository.findById(1L).orElseThrow().getViewCount());
+        assertEquals(0, articleRepository.findById(2L).orElseThrow().getViewCount());
+    }
+
+    @Test
+    void givenArticle_whenAdjustCommentCount_thenOnlyThatCountChanges() {
+        assertEquals(1, articleRepository.adjustCommentCount(1L, 2));
+        entityManager.clear();
+
+        assertEquals(3, articleRepository.findById(1L).orElseThrow().getCommentCount());
+        assertEquals(1, articleRepository.findById(2L).orElseThrow().getCommentCount());
+    }
+
+    @Test
+    void givenArticle_whenUpdateById_thenVersionIsIncrementedUnlikeByCounters() {
+        articleRepository.updateById(1L, "Updated", "Updated", "Updated", null);
+        articleRepository.adjustCommentCount(1L, 1);
+        entityManager.clear();
+
+        assertEquals(1, articleRepository.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void givenExpectedVersions_whenUpdateByIdAndVersionIn_thenOnlyCurrentVersionIsWritten() {
+        assertEquals(0, articleRepository.updateByIdAndVersionIn(1L, List.of(1L, 2L), "Stale", "Stale", "Stale", null));
+        assertEquals(1, articleRepository.updateByIdAndVersionIn(1L, List.of(0L), "Updated", "Updated", "Updated", null));
+        entityManager.clear();
+
+        assertEquals("Updated", articleRepository.findById(1L).orElseThrow().getTitle());
+        assertEquals(1L, articleRepository.findVersionById(1L).orElseThrow());
+    }
+
+    @Test
+    void givenArticleWithComment_whenFindArticleVersionById_thenSingleRowAggregatesCommentVersions() {
+        Long commentId = commentRepository.findAll().stream()
+                .filter(comment -> comment.getArticle().getId() == 1L)
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        commentRepository.updateByIdAndArticleId(commentId, 1L, "Edited", "Editor", 1L);
+
+        ArticleRepository.ArticleVersion version = articleRepository.findArticleVersionById(1L).orElseThrow();
+
+        assertEquals(0, version.getVersion());
+        assertEquals(1, version.getCommentCount());
+        assertEquals(commentId, version.getLastCommentId());
+        assertEquals(1L, version.getCommentVersionSum());
+        assertTrue(articleRepository.findArticleVersionById(999L).isEmpty());
+    }
+
+    @Test
+    void givenArticleWithoutComments_whenFindArticleVersionById_thenRowWithoutCommentAggregates() {
+        Article article = new Article();
+        article.setTitle("No Comments");
+        article.setDescription("Description");
+        article.setContent("Content");
+        Long id = articleRepository.saveAndFlush(article).getId();
+
+        ArticleRepository.ArticleVersion version = articleRepository.findArticleVersionById(id).orElseThrow();
+
+        assertEquals(0, version.getCommentCount());
+        assertNull(version.getLastCommentId());
+        assertNull(version.getCommentVersionSum());
+    }
+
+    @Test
+    void givenDriftedCounts_whenReconcileCommentCounts_thenCountsMatchComments() {
+        articleRepository.adjustCommentCount(1L, 5);
+        articleRepository.adjustCommentCount(2L, -1);
+
+        assertEquals(2, articleRepository.reconcileCommentCounts());
+        entityManager.clear();
+
+        assertEquals(1, articleRepository.findById(1L).orElseThrow().getCommentCount());
+        assertEquals(1, articleRepository.findById(2L).orElseThrow().getCommentCount());
+    }
+
+    @Test
+    void givenCommentCountSort_whenFindSummariesBy_thenMostDiscussedComeFirst() {
+        articleRepository.adjustCommentCount(4L, 3);
+
+        Slice<ArticleSummaryDto> summaries = articleRepository.findSummariesBy(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "commentCount")));
+
+        assertEquals(4L, summaries.getContent().get(0).getId());
+        assertEquals(4, summaries.getContent().get(0).getCommentCount());
+    }
+
+    @Test
+    void givenKeysetPosition_whenFindFirst10By_thenSeekPastPosition() {
+        Sort sort = Sort.by("title");
+        List<Article> sortedArticles = articleRepository.findAll(sort.and(Sort.by("id")));
+        Article fifth = sortedArticles.get(4);
+
+        Window<Article> window = articleRepository.findFirst10By(
+                ScrollPosition.forward(Map.of("title", fifth.getTitle(), "id", fifth.getId())), sort);
+
+        assertFalse(window.hasNext());
+        assertEquals(sortedArticles.subList(5, 10).stream().map(Article::getId).toList(),
+                     window.getContent().stream().map(Article::getId).toList());
+    }
+
+    @Test
+    void givenInitialKeysetPosition_whenFindFirst10By_thenReturnFirstWindow() {
+        Window<Article> window = articleRepository.findFirst10By(ScrollPosition.keyset(), Sort.unsorted());
+
+        assertEquals(10, window.size());
+        assertFalse(window.hasNext());
+        assertEquals(1L, window.getContent().get(0).getId());
+    }
+
     @Test
         // cascade persist
     void givenArticleWithComments_whenSave_thenArticleAndCommentsAreSaved() {
@@ -2,6 +2,7 @@ package com.blogify.repository;
 
 import com.blogify.entity.Article;
 import com.blogify.entity.Category;
+import com.blogify.util.StatementCounter;
 import com.blogify.util.TestUtil;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,7 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static com.blogify.util.TestUtil.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,6 +35,23 @@ class CategoryRepositoryTest {
     private ArticleRepository articleRepository;
 
 
+    @Test
+    void givenNewCategories_whenSaveAll_thenInsertedInOneBatch() {
+        List<Category> categories = IntStream.range(0, 20).mapToObj(i -> {
+            Category category = new Category();
+            category.setName("Batch " + i);
+            return category;
+        }).toList();
+
+        StatementCounter.reset();
+        categoryRepository.saveAll(categories);
+        entityManager.flush();
+
+        // ids are assigned on persist, so the inserts are prepared once and sent as a batch
+        assertEquals(1, StatementCounter.count());
+        assertTrue(categories.stream().allMatch(category -> category.getId() != null));
+    }
+
     @Test
     void givenCategoryName_whenFindByName_thenCategoryIsReturned() {
 
@@ -4,15 +4,22 @@ import com.blogify.entity.Article;
 import com.blogify.entity.Comment;
 import com.blogify.util.CommentTestUtil;
 import com.blogify.util.TestUtil;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.blogify.util.TestUtil.*;
@@ -30,6 +37,9 @@ class CommentRepositoryTest {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void givenValidComment_whenSaveComment_thenCommentSaved() {
         // Given
@@ -156,4 +166,78 @@ class CommentRepositoryTest {
         // Then
         assertFalse(deletedComment.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenArticleComments_whenFindFirst10ByArticleId_thenOnlyArticleCommentsAfterPositionAreReturned() {
+        Article article = articleRepository.findById(1L).orElseThrow();
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setFullName("Reader " + i);
+            comment.setContent("Comment " + i);
+            comment.setArticle(article);
+            commentRepository.save(comment);
+        }
+
+        Window<Comment> firstWindow = commentRepository.findFirst10ByArticleId(1L, ScrollPosition.keyset(), Sort.by("id"));
+        Window<Comment> nextWindow = commentRepository.findFirst10ByArticleId(
+                1L, ScrollPosition.forward(Map.of("id", firstWindow.getContent().get(1).getId())), Sort.by("id"));
+
+        assertEquals(4, firstWindow.size());
+        assertFalse(firstWindow.hasNext());
+        assertTrue(firstWindow.stream().allMatch(comment -> comment.getArticle().getId().equals(1L)));
+        assertEquals(1L, firstWindow.getContent().get(0).getId());
+        assertEquals(2, nextWindow.size());
+        assertEquals(firstWindow.getContent().get(2).getId(), nextWindow.getContent().get(0).getId());
+    }
+
+    @Test
+    void givenDuplicateAuthorOnArticle_whenSaveAndFlush_thenUniqueConstraintIsReported() {
+        Comment duplicate = new Comment();
+        duplicate.setFullName("John Doe");
+        duplicate.setContent("Second comment");
+        duplicate.setArticle(articleRepository.getReferenceById(1L));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> commentRepository.saveAndFlush(duplicate));
+
+        assertTrue(violatedConstraint(exception).contains(Comment.UNIQUE_AUTHOR_PER_ARTICLE));
+    }
+
+    @Test
+    void givenMissingArticle_whenSaveAndFlush_thenForeignKeyIsReported() {
+        Comment orphan = new Comment();
+        orphan.setFullName("John Doe");
+        orphan.setContent("Comment");
+        orphan.setArticle(articleRepository.getReferenceById(999L));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> commentRepository.saveAndFlush(orphan));
+
+        assertTrue(violatedConstraint(exception).contains(Comment.ARTICLE_FOREIGN_KEY));
+    }
+
+    @Test
+    void givenExistingComment_whenUpdateByIdAndArticleId_thenOnlyThatCommentChanges() {
+        assertEquals(1, commentRepository.updateByIdAndArticleId(1L, 1L, "Edited", "John Doe", 1L));
+        assertEquals(0, commentRepository.updateByIdAndArticleId(999L, 1L, "Edited", "John Doe", 1L));
+        entityManager.clear();
+
+        assertEquals("Edited", commentRepository.findById(1L).orElseThrow().getContent());
+        assertEquals("Very helpful overview of Spring Boot.", commentRepository.findById(2L).orElseThrow().getContent());
+    }
+
+    @Test
+    void givenCommentMovedMeanwhile_whenUpdateByIdAndArticleId_thenNothingIsWritten() {
+        assertEquals(1L, commentRepository.findArticleIdById(1L).orElseThrow());
+
+        assertEquals(0, commentRepository.updateByIdAndArticleId(1L, 2L, "Edited", "John Doe", 3L));
+        entityManager.clear();
+
+        assertEquals(1L, commentRepository.findArticleIdById(1L).orElseThrow());
+    }
+
+    private static String violatedConstraint(DataIntegrityViolationException exception) {
+        ConstraintViolationException violation = assertInstanceOf(ConstraintViolationException.class, exception.getCause());
+        return violation.getConstraintName().toLowerCase(Locale.ROOT);
+    }
+}
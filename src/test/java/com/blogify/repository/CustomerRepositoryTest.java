@@ -2,6 +2,7 @@ package com.blogify.repository;
 
 import com.blogify.entity.Customer;
 import com.blogify.util.CustomerTestUtil;
+import com.blogify.util.StatementCounter;
 import com.blogify.util.TestUtil;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.blogify.util.TestUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +28,9 @@ class CustomerRepositoryTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private RoleRepository roleRepository;
+
     @Test
     void givenMultipleSortOrders_whenFindAll_thenShouldReturnSortedPageOfCustomers() {
         Sort a = getSortByMultipleFields(Sort.Direction.ASC, "firstName", "lastName");
@@ -42,6 +48,18 @@ class CustomerRepositoryTest {
         assertTrue(TestUtil.isPageSortedCorrectly(customers, sort));
     }
 
+    @Test
+    void givenIds_whenFindAllByIdIn_thenCustomersAndRolesInOneStatement() {
+        StatementCounter.reset();
+
+        List<Customer> customers = customerRepository.findAllByIdIn(List.of(1L, 2L, 3L, 404L));
+
+        assertEquals(3, customers.size());
+        assertEquals(3, customers.stream().filter(customer -> customer.getId() == 1L).findFirst().orElseThrow()
+                .getRoles().size());
+        assertEquals(1, StatementCounter.count());
+    }
+
     @Test
      void givenNoOrders_whenFindAll_thenShouldReturnUnsortedPageOfCustomers() {
         PageRequest pageRequest = getPageRequest(0, Sort.unsorted());
@@ -71,6 +89,9 @@ class CustomerRepositoryTest {
         int expectedRoles = 2;
 
         Customer customer = CustomerTestUtil.generateDummyCustomer();
+        // role ids are generated, use the roles created on startup
+        customer.setRoles(Set.of(roleRepository.findByName("ROLE_USER").orElseThrow(),
+                                 roleRepository.findByName("ROLE_ADMIN").orElseThrow()));
 
         Customer savedCustomer = customerRepository.save(customer);
 
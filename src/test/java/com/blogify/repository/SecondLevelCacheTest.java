@@ -0,0 +1,128 @@
+package com.blogify.repository;
+
+import com.blogify.config.HibernateCacheConfig;
+import com.blogify.entity.Category;
+import com.blogify.entity.Role;
+import com.blogify.util.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// a cached entry is only readable by transactions started after it was put, so every step commits on its own
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(HibernateCacheConfig.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        category = new Category();
+        category.setName("Technology");
+        category = categoryRepository.save(category);
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        roleRepository.findByName("ROLE_CACHED").ifPresent(roleRepository::delete);
+    }
+
+    @Test
+    void givenLoadedCategory_whenFindByIdAgain_thenNoStatementIsSent() {
+        categoryRepository.findById(category.getId()).orElseThrow();
+        StatementCounter.reset();
+
+        Category cached = categoryRepository.findById(category.getId()).orElseThrow();
+
+        assertEquals(0, StatementCounter.count());
+        assertEquals("Technology", cached.getName());
+        CacheRegionStatistics statistics = sessionFactory.getStatistics()
+                .getDomainDataRegionStatistics(Category.CACHE_REGION);
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+    }
+
+    @Test
+    void givenCategoryLookedUpByName_whenFindByNameAgain_thenNoStatementIsSent() {
+        categoryRepository.findByName("Technology").orElseThrow();
+        StatementCounter.reset();
+
+        Category cached = categoryRepository.findByName("Technology").orElseThrow();
+
+        assertEquals(0, StatementCounter.count());
+        assertEquals(category.getId(), cached.getId());
+    }
+
+    @Test
+    void givenRenamedCategory_whenFindByOldName_thenQueryIsSentAgain() {
+        categoryRepository.findByName("Technology").orElseThrow();
+        category.setName("Science");
+        categoryRepository.save(category);
+        StatementCounter.reset();
+
+        assertTrue(categoryRepository.findByName("Technology").isEmpty());
+        assertEquals(1, StatementCounter.count());
+        assertEquals(category.getId(), categoryRepository.findByName("Science").orElseThrow().getId());
+    }
+
+    @Test
+    void givenNativeArticleUpdate_whenFindCategory_thenCategoryIsStillCached() {
+        categoryRepository.findById(category.getId()).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> articleRepository.adjustCommentCount(1L, 1));
+        StatementCounter.reset();
+
+        categoryRepository.findById(category.getId()).orElseThrow();
+        assertEquals(0, StatementCounter.count());
+    }
+
+    @Test
+    void givenRole_whenFindByNameAgain_thenNoStatementIsSent() {
+        Role role = new Role();
+        role.setName("ROLE_CACHED");
+        role.setDescription("Cached role");
+        roleRepository.save(role);
+        roleRepository.findByName("ROLE_CACHED").orElseThrow();
+        StatementCounter.reset();
+
+        Role cached = roleRepository.findByName("ROLE_CACHED").orElseThrow();
+
+        assertEquals(0, StatementCounter.count());
+        assertEquals("Cached role", cached.getDescription());
+    }
+}
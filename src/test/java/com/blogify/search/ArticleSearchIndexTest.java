@@ -0,0 +1,73 @@
+package com.blogify.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleSearchIndexTest {
+
+    private final ArticleSearchIndex articleSearchIndex = new ArticleSearchIndex();
+
+    @Test
+    void givenTermInTitleAndContent_whenSearch_thenTitleMatchRanksFirst() {
+        articleSearchIndex.index(1L, "Cooking pasta", "Kitchen basics", "Streams are mentioned once here");
+        articleSearchIndex.index(2L, "Java streams", "Functional pipelines", "Map and filter collections");
+        articleSearchIndex.index(3L, "Gardening", "Spring flowers", "Nothing relevant");
+
+        assertEquals(List.of(2L, 1L), articleSearchIndex.search("streams", 10));
+    }
+
+    @Test
+    void givenSeveralTerms_whenSearch_thenArticleMatchingMoreTermsRanksFirst() {
+        articleSearchIndex.index(1L, "Java basics", "Introduction", "Variables and loops");
+        articleSearchIndex.index(2L, "Java streams", "Introduction", "Variables and loops");
+
+        assertEquals(List.of(2L, 1L), articleSearchIndex.search("Java Streams", 10));
+    }
+
+    @Test
+    void givenMoreMatchesThanLimit_whenSearch_thenOnlyBestResultsAreReturned() {
+        articleSearchIndex.index(1L, "Spring", "Spring", "Spring");
+        articleSearchIndex.index(2L, "Other", "Other", "Spring");
+        articleSearchIndex.index(3L, "Spring boot", "Other", "Other");
+
+        assertEquals(List.of(1L), articleSearchIndex.search("spring", 1));
+    }
+
+    @Test
+    void givenRemovedArticle_whenSearch_thenArticleIsNotReturned() {
+        articleSearchIndex.index(1L, "Java streams", "Guide", "Content");
+        articleSearchIndex.index(2L, "Java records", "Guide", "Content");
+
+        articleSearchIndex.remove(1L);
+
+        assertEquals(List.of(2L), articleSearchIndex.search("java", 10));
+        assertTrue(articleSearchIndex.search("streams", 10).isEmpty());
+        assertEquals(1, articleSearchIndex.size());
+    }
+
+    @Test
+    void givenReindexedArticle_whenSearch_thenOnlyNewTermsMatch() {
+        articleSearchIndex.index(1L, "Java streams", "Guide", "Content");
+
+        articleSearchIndex.index(1L, "Kotlin flows", "Guide", "Content");
+
+        assertTrue(articleSearchIndex.search("streams", 10).isEmpty());
+        assertEquals(List.of(1L), articleSearchIndex.search("KOTLIN", 10));
+        assertEquals(1, articleSearchIndex.size());
+    }
+
+    @Test
+    void givenQueryWithoutTerms_whenSearch_thenNothingIsReturned() {
+        articleSearchIndex.index(1L, "Java streams", "Guide", "Content");
+
+        assertTrue(articleSearchIndex.search("?!", 10).isEmpty());
+    }
+
+    @Test
+    void givenPunctuatedText_whenTokenize_thenLowercaseWordsAreReturned() {
+        assertEquals(List.of("java", "17", "records", "zażółć"), ArticleSearchIndex.tokenize("Java-17: Records, Zażółć!"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.blogify.search;
+
+import com.blogify.payload.ArticleSuggestionDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleTitleIndexTest {
+
+    private final ArticleTitleIndex articleTitleIndex = new ArticleTitleIndex();
+
+    @Test
+    void givenTitles_whenSuggest_thenMatchingTitlesAreReturnedInOrder() {
+        articleTitleIndex.index(1L, "Spring Boot Overview");
+        articleTitleIndex.index(2L, "Java Streams");
+        articleTitleIndex.index(3L, "JavaScript Basics");
+        articleTitleIndex.index(4L, "Introduction to Java");
+
+        List<ArticleSuggestionDto> suggestions = articleTitleIndex.suggest("jav", 10);
+
+        assertEquals(List.of(new ArticleSuggestionDto(2L, "Java Streams"),
+                             new ArticleSuggestionDto(3L, "JavaScript Basics")), suggestions);
+    }
+
+    @Test
+    void givenMoreMatchesThanLimit_whenSuggest_thenOnlyLimitIsReturned() {
+        articleTitleIndex.index(1L, "Java 1");
+        articleTitleIndex.index(2L, "Java 2");
+        articleTitleIndex.index(3L, "Java 3");
+
+        assertEquals(2, articleTitleIndex.suggest("Java", 2).size());
+    }
+
+    @Test
+    void givenRenamedArticle_whenSuggest_thenOnlyNewTitleMatches() {
+        articleTitleIndex.index(1L, "Java Streams");
+
+        articleTitleIndex.index(1L, "Kotlin Flows");
+
+        assertTrue(articleTitleIndex.suggest("java", 10).isEmpty());
+        assertEquals(List.of(new ArticleSuggestionDto(1L, "Kotlin Flows")), articleTitleIndex.suggest("kot", 10));
+        assertEquals(1, articleTitleIndex.size());
+    }
+
+    @Test
+    void givenRemovedArticle_whenSuggest_thenTitleIsNotReturned() {
+        articleTitleIndex.index(1L, "Java Streams");
+
+        articleTitleIndex.remove(1L);
+
+        assertTrue(articleTitleIndex.suggest("java", 10).isEmpty());
+        assertEquals(0, articleTitleIndex.size());
+    }
+
+    @Test
+    void givenTitlesDifferingOnlyInCase_whenSuggest_thenBothAreReturned() {
+        articleTitleIndex.index(1L, "JAVA");
+        articleTitleIndex.index(2L, "java");
+
+        assertEquals(2, articleTitleIndex.suggest("Ja", 10).size());
+    }
+}
@@ -1,5 +1,6 @@
 package com.blogify.security;
 
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,9 +15,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +37,9 @@ class JwtAuthenticationFilterUnitTest {
     @Mock
     private UserDetailsManagerImpl userDetailsManager;
 
+    @Mock
+    private RevokedPrincipalRegistry revokedPrincipalRegistry;
+
     @Mock
     private HttpServletRequest request;
 
@@ -62,9 +68,10 @@ class JwtAuthenticationFilterUnitTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getServletPath()).thenReturn("/some-path");
-        when(jwtService.extractUsername(token)).thenReturn(email);
+        VerifiedToken verifiedToken = verifiedToken(email);
+        when(jwtService.verify(token)).thenReturn(Optional.of(verifiedToken));
         when(userDetailsManager.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(token, userDetails)).thenReturn(true);
+        when(jwtService.isTokenValid(verifiedToken, userDetails)).thenReturn(true);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -76,12 +83,62 @@ class JwtAuthenticationFilterUnitTest {
         assertNotNull(authentication);
         assertEquals(userDetails, authentication.getPrincipal());
         assertIterableEquals(userDetails.getAuthorities(), authentication.getAuthorities());
-        verify(jwtService).extractUsername(token);
-        verify(jwtService).isTokenValid(token, userDetails);
+        verify(jwtService, times(1)).verify(token);
+        verify(jwtService).isTokenValid(verifiedToken, userDetails);
         verify(userDetailsManager).loadUserByUsername(email);
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void givenValidTokenAndStatelessMode_whenDoFilterInternal_thenAuthenticateFromClaims() throws ServletException, IOException {
+
+        // Given
+        String token = "valid-jwt-token";
+        String email = "testuser@example.com";
+        VerifiedToken verifiedToken = verifiedToken(email);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuthentication", true);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getServletPath()).thenReturn("/some-path");
+        when(jwtService.verify(token)).thenReturn(Optional.of(verifiedToken));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        UsernamePasswordAuthenticationToken authentication =
+                (UsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+
+        assertNotNull(authentication);
+        assertEquals(email, authentication.getName());
+        assertInstanceOf(JwtPrincipal.class, authentication.getPrincipal());
+        assertIterableEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), authentication.getAuthorities());
+        verify(userDetailsManager, never()).loadUserByUsername(any());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void givenRevokedPrincipal_whenDoFilterInternal_thenDoNotAuthenticate() throws ServletException, IOException {
+
+        // Given
+        String token = "valid-jwt-token";
+        VerifiedToken verifiedToken = verifiedToken("testuser@example.com");
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuthentication", true);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getServletPath()).thenReturn("/some-path");
+        when(jwtService.verify(token)).thenReturn(Optional.of(verifiedToken));
+        when(revokedPrincipalRegistry.isRevoked(verifiedToken)).thenReturn(true);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsManager, never()).loadUserByUsername(any());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     void givenInvalidToken_whenDoFilterInternal_thenDoNotAuthenticate() throws ServletException, IOException {
 
@@ -90,15 +147,15 @@ class JwtAuthenticationFilterUnitTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getServletPath()).thenReturn("/some-path");
-        when(jwtService.extractUsername(token)).thenReturn(null);
+        when(jwtService.verify(token)).thenReturn(Optional.empty());
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtService).extractUsername(token);
-        verify(jwtService, never()).isTokenValid(any(), any());
+        verify(jwtService).verify(token);
+        verify(jwtService, never()).isTokenValid(any(VerifiedToken.class), any());
         verify(userDetailsManager, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -115,8 +172,8 @@ class JwtAuthenticationFilterUnitTest {
 
         // Then
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtService, never()).extractUsername(any());
-        verify(jwtService, never()).isTokenValid(any(), any());
+        verify(jwtService, never()).verify(any());
+        verify(jwtService, never()).isTokenValid(any(VerifiedToken.class), any());
         verify(userDetailsManager, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -132,9 +189,16 @@ class JwtAuthenticationFilterUnitTest {
 
         // Then
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtService, never()).extractUsername(any());
-        verify(jwtService, never()).isTokenValid(any(), any());
+        verify(jwtService, never()).verify(any());
+        verify(jwtService, never()).isTokenValid(any(VerifiedToken.class), any());
         verify(userDetailsManager, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
+
+    private VerifiedToken verifiedToken(String email) {
+        return new VerifiedToken(Jwts.claims()
+                                         .subject(email)
+                                         .add("authorities", List.of("ROLE_USER"))
+                                         .build());
+    }
 }
@@ -9,12 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,9 +27,7 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
-        ReflectionTestUtils.setField(jwtService, "jwtExpirationDate", JWT_EXPIRATION_DATE);
+        jwtService = new JwtService(JWT_SECRET, JWT_EXPIRATION_DATE);
     }
 
     @Test
@@ -94,6 +92,51 @@ class JwtServiceTest {
         assertTrue(isValid);
     }
 
+    @Test
+    void givenValidJWTToken_whenVerify_thenClaimsAreExtractedOnce() {
+
+        // Given
+        String token = createTestToken("testuser", List.of("ROLE_USER", "ROLE_EDITOR"), false);
+
+        // When
+        Optional<VerifiedToken> verifiedToken = jwtService.verify(token);
+
+        // Then
+        assertTrue(verifiedToken.isPresent());
+        assertEquals("testuser", verifiedToken.get().getSubject());
+        assertNotNull(verifiedToken.get().getExpiration());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_EDITOR")),
+                     verifiedToken.get().getAuthorities());
+    }
+
+    @Test
+    void givenExpiredJWTToken_whenVerify_thenShouldReturnEmpty() {
+
+        // Given
+        String token = createTestToken("testuser", List.of("ROLE_USER"), true);
+
+        // When
+        Optional<VerifiedToken> verifiedToken = jwtService.verify(token);
+
+        // Then
+        assertTrue(verifiedToken.isEmpty());
+    }
+
+    @Test
+    void givenTamperedJWTToken_whenVerify_thenShouldReturnEmpty() {
+
+        // Given
+        String token = createTestToken("testuser", List.of("ROLE_USER"), false);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When
+        Optional<VerifiedToken> verifiedToken = jwtService.verify(tampered);
+
+        // Then
+        assertTrue(verifiedToken.isEmpty());
+        assertNull(jwtService.extractUsername(tampered));
+    }
+
     private String createTestToken(String username, List<String> roles, boolean expired) {
 
         Date currentDate = new Date();
@@ -0,0 +1,62 @@
+package com.blogify.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedPrincipalRegistryUnitTest {
+
+    private static final String EMAIL = "john@doe.com";
+
+    // part way into a second, "iat" of tokens issued now is the start of that second
+    private long now = 1_700_000_000_400L;
+
+    private RevokedPrincipalRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RevokedPrincipalRegistry(() -> now);
+        ReflectionTestUtils.setField(registry, "jwtExpirationDate", 3_600_000L);
+    }
+
+    @Test
+    void givenTokenIssuedBeforeRevocation_whenIsRevoked_thenTrue() {
+        registry.revoke(EMAIL);
+
+        assertTrue(registry.isRevoked(token(EMAIL, 1_699_999_999_000L)));
+    }
+
+    @Test
+    void givenTokenIssuedLaterInTheSecondOfRevocation_whenIsRevoked_thenFalse() {
+        registry.revoke(EMAIL);
+        now += 300;
+
+        assertFalse(registry.isRevoked(token(EMAIL, 1_700_000_000_000L)));
+    }
+
+    @Test
+    void givenTokenWithoutIssuedAt_whenIsRevoked_thenTrue() {
+        registry.revoke(EMAIL);
+
+        assertTrue(registry.isRevoked(token(EMAIL, null)));
+    }
+
+    @Test
+    void givenOtherPrincipalRevoked_whenIsRevoked_thenFalse() {
+        registry.revoke("jane@doe.com");
+
+        assertFalse(registry.isRevoked(token(EMAIL, 1_699_999_999_000L)));
+    }
+
+    private static VerifiedToken token(String email, Long issuedAt) {
+        return new VerifiedToken(Jwts.claims()
+                                         .subject(email)
+                                         .issuedAt(issuedAt == null ? null : new Date(issuedAt))
+                                         .build());
+    }
+}
@@ -41,6 +41,12 @@ class UserDetailsManagerImplUnitTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private RevokedPrincipalRegistry revokedPrincipalRegistry;
+
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserDetailsManagerImpl customerDetailsManager;
 
@@ -124,6 +130,8 @@ class UserDetailsManagerImplUnitTest {
 
         assertEquals("{bcrypt}newpassword", customer.getPassword());
         verify(customerRepository).save(customer);
+        verify(revokedPrincipalRegistry).revoke(customer.getEmail());
+        verify(principalCache).evict(customer.getEmail());
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.blogify.service;
+
+import com.blogify.mapper.ArticleMapperImpl;
+import com.blogify.mapper.CommentMapperImpl;
+import com.blogify.payload.ArticleImportReport;
+import com.blogify.payload.ArticleSuggestionDto;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.search.ArticleSearchIndex;
+import com.blogify.search.ArticleTitleIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// batches commit on their own, so the test must not run in a transaction of its own
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ArticleImporter.class, ArticleMapperImpl.class, CommentMapperImpl.class, ArticleSearchIndex.class,
+         ArticleTitleIndex.class, ArticleViolationTranslator.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {"app.article-import.batch-size=3", "app.article-import.max-line-bytes=200"})
+class ArticleImporterTest {
+
+    @Autowired
+    private ArticleImporter articleImporter;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ArticleTitleIndex articleTitleIndex;
+
+    @AfterEach
+    void tearDown() {
+        articleRepository.deleteAll();
+    }
+
+    @Test
+    void givenValidArticles_whenImport_thenAllAreInsertedAndIndexed() throws Exception {
+        String body = IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> article("Imported " + i))
+                .collect(Collectors.joining("\n"));
+
+        ArticleImportReport report = articleImporter.importArticles(stream(body));
+
+        assertEquals(7, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.getFailures().isEmpty());
+        assertEquals(7, articleRepository.count());
+        List<ArticleSuggestionDto> suggestions = articleTitleIndex.suggest("Imported", 10);
+        assertEquals(7, suggestions.size());
+    }
+
+    @Test
+    void givenInvalidLines_whenImport_thenTheyAreReportedAndTheRestIsInserted() throws Exception {
+        String body = String.join("\n",
+                                  article("First"),
+                                  "{not json",
+                                  "",
+                                  "{\"title\": \"No content\", \"description\": \"Description\"}",
+                                  article("Second"));
+
+        ArticleImportReport report = articleImporter.importArticles(stream(body));
+
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getFailures().get(0).getLine());
+        assertTrue(report.getFailures().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals(4, report.getFailures().get(1).getLine());
+        assertTrue(report.getFailures().get(1).getMessage().startsWith("content: "));
+        assertEquals(2, articleRepository.count());
+    }
+
+    @Test
+    void givenDuplicateTitleInBatch_whenImport_thenOnlyDuplicateIsRejected() throws Exception {
+        String body = String.join("\n",
+                                  article("Same"),
+                                  article("Other"),
+                                  article("Same"),
+                                  article("Last"));
+
+        ArticleImportReport report = articleImporter.importArticles(stream(body));
+
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(3, report.getFailures().get(0).getLine());
+        assertEquals("Title already in use", report.getFailures().get(0).getMessage());
+        assertEquals(3, articleRepository.count());
+    }
+
+    @Test
+    void givenManyFailures_whenImport_thenReportIsCapped() throws Exception {
+        String body = "{}\n".repeat(ArticleImporter.MAX_REPORTED_FAILURES + 20);
+
+        ArticleImportReport report = articleImporter.importArticles(stream(body));
+
+        assertEquals(ArticleImporter.MAX_REPORTED_FAILURES + 20, report.getFailed());
+        assertEquals(ArticleImporter.MAX_REPORTED_FAILURES, report.getFailures().size());
+    }
+
+    @Test
+    void givenLineOverLimit_whenImport_thenItIsReportedAndTheRestIsInserted() throws Exception {
+        String body = article("Before") + "\r\n"
+                      + article("x".repeat(300)) + "\r\n"
+                      + article("After");
+
+        ArticleImportReport report = articleImporter.importArticles(stream(body));
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getFailures().get(0).getLine());
+        assertEquals("Line longer than 200 bytes", report.getFailures().get(0).getMessage());
+        assertEquals(2, articleRepository.count());
+    }
+
+    private static String article(String title) {
+        return "{\"title\": \"" + title + "\", \"description\": \"Description\", \"content\": \"Content\"}";
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,221 @@
+package com.blogify.service;
+
+import com.blogify.entity.Article;
+import com.blogify.exception.ApiException;
+import com.blogify.mapper.ArticleMapperImpl;
+import com.blogify.mapper.CommentMapperImpl;
+import com.blogify.payload.ArticleDto;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.search.ArticleSearchIndex;
+import com.blogify.search.ArticleTitleIndex;
+import com.blogify.util.StatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ArticleService.class, EntityCountCache.class, ArticleMapperImpl.class, CommentMapperImpl.class,
+         ArticleSearchIndex.class, ArticleTitleIndex.class, ArticleViewCounter.class, ArticleTrendingTracker.class,
+         MergePatcher.class, ArticleViolationTranslator.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Sql(scripts = "classpath:sql/articles.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ArticleServiceStatementCountTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ArticleDto articleDto;
+
+    @BeforeEach
+    void setUp() {
+        articleDto = new ArticleDto();
+        articleDto.setTitle("Draft Title");
+        articleDto.setDescription("Draft Description");
+        articleDto.setContent("Draft Content");
+
+        StatementCounter.reset();
+    }
+
+    @Test
+    void givenExistingArticle_whenUpdate_thenSingleStatementWithoutTouchingComments() {
+        articleService.update(1L, articleDto);
+
+        assertEquals(1, StatementCounter.count());
+
+        entityManager.clear();
+        Article article = articleRepository.findById(1L).orElseThrow();
+        assertEquals("Draft Title", article.getTitle());
+        assertEquals("Draft Content", article.getContent());
+        assertEquals(1, article.getComments().size());
+        assertEquals(1, article.getCommentCount());
+    }
+
+    @Test
+    void givenNewArticle_whenCreate_thenSingleStatement() {
+        ArticleDto createdArticle = articleService.create(articleDto);
+
+        assertEquals(1, StatementCounter.count());
+        assertNotNull(createdArticle.getId());
+    }
+
+    @Test
+    void givenNonExistingArticle_whenUpdate_thenNotFoundAfterSingleStatement() {
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.update(999L, articleDto));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals(1, StatementCounter.count());
+    }
+
+    @Test
+    void givenTitleOfAnotherArticle_whenUpdate_thenBadRequest() {
+        articleDto.setTitle("Spring Boot Overview");
+
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.update(1L, articleDto));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Title already in use", exception.getMessage());
+    }
+
+    @Test
+    void givenTakenTitle_whenCreate_thenBadRequest() {
+        articleDto.setTitle("Introduction to Java");
+
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.create(articleDto));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void givenMissingCategory_whenUpdate_thenNotFound() {
+        articleDto.setCategoryId(999L);
+
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.update(1L, articleDto));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Category not found", exception.getMessage());
+    }
+
+    @Test
+    void givenTitlePatch_whenPatch_thenOnlyTitleColumnIsWritten() throws Exception {
+        articleService.patch(1L, objectMapper.readTree("{\"title\": \"Draft Title\"}"));
+        entityManager.flush();
+
+        assertEquals(2, StatementCounter.count());
+        String update = StatementCounter.statements().get(1).toLowerCase();
+        assertTrue(update.startsWith("update articles set title=?"));
+        assertFalse(update.contains("content"));
+
+        entityManager.clear();
+        Article article = articleRepository.findById(1L).orElseThrow();
+        assertEquals("Draft Title", article.getTitle());
+        assertEquals("A beginner's guide to Java programming", article.getDescription());
+        assertEquals(1, article.getComments().size());
+    }
+
+    @Test
+    void givenPatchRemovingTitle_whenPatch_thenValidationFails() throws Exception {
+        assertThrows(ConstraintViolationException.class,
+                     () -> articleService.patch(1L, objectMapper.readTree("{\"title\": null}")));
+    }
+
+    @Test
+    void givenArticle_whenFindETag_thenOneStatementAndTagFollowsEditsButNotViews() {
+        String etag = articleService.findETag(1L);
+
+        assertEquals(1, StatementCounter.count());
+        assertTrue(etag.startsWith("W/\"0-"));
+
+        articleService.viewById(1L);
+        assertEquals(etag, articleService.findETag(1L));
+
+        articleRepository.updateById(1L, "Edited", "Edited", "Edited", null);
+        assertTrue(articleService.findETag(1L).startsWith("W/\"1-"));
+    }
+
+    @Test
+    void givenArticleWithComment_whenViewTaggedById_thenTagOfLoadedArticleEqualsConditionalTag() {
+        String etag = articleService.viewTaggedById(1L).etag();
+
+        entityManager.clear();
+        assertEquals(articleService.findETag(1L), etag);
+    }
+
+    @Test
+    void givenPage_whenFindTaggedPage_thenTagOfLoadedSummariesEqualsConditionalTag() {
+        Sort sort = Sort.by("id");
+
+        assertEquals(articleService.findPageETag(0, sort, true), articleService.findTaggedPage(0, sort, true).etag());
+        assertEquals(articleService.findPageETag(0, sort, false), articleService.findTaggedPage(0, sort, false).etag());
+    }
+
+    @Test
+    void givenMissingArticle_whenFindETag_thenNotFound() {
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.findETag(999L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void givenCurrentVersion_whenUpdate_thenSingleStatementAndVersionIncremented() {
+        articleService.update(1L, articleDto, List.of(0L));
+
+        assertEquals(1, StatementCounter.count());
+        assertEquals(1L, articleRepository.findVersionById(1L).orElseThrow());
+    }
+
+    @Test
+    void givenStaleVersion_whenUpdate_thenPreconditionFailedAndArticleUnchanged() {
+        articleRepository.updateById(1L, "Edited", "Edited", "Edited", null);
+        StatementCounter.reset();
+
+        ApiException exception = assertThrows(ApiException.class,
+                                               () -> articleService.update(1L, articleDto, List.of(0L)));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        assertEquals(2, StatementCounter.count());
+        entityManager.clear();
+        assertEquals("Edited", articleRepository.findById(1L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void givenMissingArticle_whenConditionalUpdate_thenNotFound() {
+        ApiException exception = assertThrows(ApiException.class,
+                                               () -> articleService.update(999L, articleDto, List.of(0L)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void givenStaleVersion_whenPatch_thenPreconditionFailedWithoutWriting() {
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.patch(
+                1L, objectMapper.readTree("{\"title\": \"Draft Title\"}"), List.of(5L)));
+        entityManager.flush();
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        assertEquals(1, StatementCounter.count());
+    }
+}
@@ -2,26 +2,41 @@ package com.blogify.service;
 
 import com.blogify.entity.Article;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.ArticleMapper;
 import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleSuggestionDto;
+import com.blogify.payload.ArticleSummaryDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.repository.ArticleRepository;
+import com.blogify.search.ArticleSearchIndex;
+import com.blogify.search.ArticleTitleIndex;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
-
-import java.util.Arrays;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +46,31 @@ class ArticleServiceUnitTest {
     private ArticleRepository articleRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private EntityCountCache entityCountCache;
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private ArticleTitleIndex articleTitleIndex;
+
+    @Mock
+    private ArticleViewCounter articleViewCounter;
+
+    @Mock
+    private ArticleTrendingTracker articleTrendingTracker;
+
+    @Mock
+    private ArticleViolationTranslator articleViolationTranslator;
 
     @InjectMocks
     private ArticleService articleService;
 
     private ArticleDto articleDto;
+    private ArticleSummaryDto articleSummaryDto;
     private Article article;
 
     @BeforeEach
@@ -46,6 +80,8 @@ class ArticleServiceUnitTest {
         articleDto.setTitle("Test Title");
         articleDto.setContent("Test Content");
 
+        articleSummaryDto = new ArticleSummaryDto(1L, "Test Title", "Test Description", null, 0, 0L);
+
         article = new Article();
         article.setId(1L);
         article.setTitle("Test Title");
@@ -53,11 +89,11 @@ class ArticleServiceUnitTest {
     }
 
     @Test
-    void givenNewArticle_whenCreate_thenArticleIsCreated() {
+    void givenNewArticle_whenCreate_thenArticleIsInsertedWithoutLookups() {
 
         // Arrange
-        when(articleRepository.save(any(Article.class))).thenReturn(article);
-        when(modelMapper.map(any(ArticleDto.class), eq(Article.class))).thenReturn(article);
+        when(articleRepository.saveAndFlush(any(Article.class))).thenReturn(article);
+        when(articleMapper.toEntity(any(ArticleDto.class))).thenReturn(article);
 
         // Act
         ArticleDto createdArticle = articleService.create(articleDto);
@@ -65,18 +101,35 @@ class ArticleServiceUnitTest {
         // Assert
         assertNotNull(createdArticle);
         assertEquals(1L, createdArticle.getId());
-        verify(articleRepository, times(1)).save(any(Article.class));
-        verify(modelMapper, times(1)).map(any(ArticleDto.class), eq(Article.class));
+        verify(articleRepository, times(1)).saveAndFlush(any(Article.class));
+        verify(articleRepository, never()).findByTitle(any());
+        verify(articleMapper, times(1)).toEntity(any(ArticleDto.class));
+        verify(articleSearchIndex, times(1)).index(1L, "Test Title", null, "Test Content");
+        verify(articleTitleIndex, times(1)).index(1L, "Test Title");
+    }
+
+    @Test
+    void givenTakenTitle_whenCreate_thenBadRequestIsThrown() {
+
+        // Arrange
+        when(articleMapper.toEntity(any(ArticleDto.class))).thenReturn(article);
+        when(articleRepository.saveAndFlush(any(Article.class)))
+                .thenThrow(violationOf("PUBLIC.UK_ARTICLES_TITLE_INDEX_E"));
+        when(articleViolationTranslator.translate(any(), eq(1L), eq(articleDto)))
+                .thenReturn(ApiException.badRequest("Title already in use"));
+
+        // Act & Assert
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.create(articleDto));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Title already in use", exception.getMessage());
+        verifyNoInteractions(articleSearchIndex, articleTitleIndex);
     }
 
     @Test
-    void givenExistingArticleId_whenUpdate_thenArticleIsUpdated() {
+    void givenExistingArticleId_whenUpdate_thenSingleUpdateIsExecuted() {
 
         // Arrange
-        when(articleRepository.existsById(articleDto.getId())).thenReturn(true);
-        when(articleRepository.findByTitle(articleDto.getTitle())).thenReturn(Optional.empty());
-        when(articleRepository.save(any(Article.class))).thenReturn(article);
-        when(modelMapper.map(any(ArticleDto.class), eq(Article.class))).thenReturn(article);
+        when(articleRepository.updateById(1L, "Test Title", null, "Test Content", null)).thenReturn(1);
 
         // Act
         ArticleDto updatedArticle = articleService.update(1L, articleDto);
@@ -84,49 +137,228 @@ class ArticleServiceUnitTest {
         // Assert
         assertNotNull(updatedArticle);
         assertEquals(1L, updatedArticle.getId());
-        verify(articleRepository, times(1)).findByTitle(articleDto.getTitle());
-        verify(articleRepository, times(1)).existsById(articleDto.getId());
-        verify(articleRepository, times(1)).save(any(Article.class));
-        verify(modelMapper, times(1)).map(any(ArticleDto.class), eq(Article.class));
+        verify(articleRepository, times(1)).updateById(1L, "Test Title", null, "Test Content", null);
+        verify(articleRepository, never()).findByTitle(any());
+        verify(articleRepository, never()).existsById(any());
+        verify(articleRepository, never()).save(any(Article.class));
+        verify(articleTitleIndex, times(1)).index(1L, "Test Title");
     }
 
     @Test
-    void givenNonExistingArticleId_whenUpdate_thenThrowsException() {
-        article.setId(2L);
+    void givenActiveTransaction_whenUpdate_thenIndexesChangeOnlyAfterCommit() {
 
         // Arrange
-        when(articleRepository.findByTitle(articleDto.getTitle())).thenReturn(Optional.of(article));
+        when(articleRepository.updateById(1L, "Test Title", null, "Test Content", null)).thenReturn(1);
+
+        // Act & Assert
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            articleService.update(1L, articleDto);
+            articleDto.setTitle("Changed After Update");
+
+            verifyNoInteractions(articleSearchIndex, articleTitleIndex);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(articleSearchIndex, times(1)).index(1L, "Test Title", null, "Test Content");
+        verify(articleTitleIndex, times(1)).index(1L, "Test Title");
+    }
+
+    @Test
+    void givenRolledBackTransaction_whenUpdate_thenIndexesAreUnchanged() {
+
+        // Arrange
+        when(articleRepository.updateById(1L, "Test Title", null, "Test Content", null)).thenReturn(1);
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            articleService.update(1L, articleDto);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        verifyNoInteractions(articleSearchIndex, articleTitleIndex);
+    }
+
+    @Test
+    void givenNonExistingArticleId_whenUpdate_thenNotFoundIsThrown() {
+
+        // Arrange
+        when(articleRepository.updateById(1L, "Test Title", null, "Test Content", null)).thenReturn(0);
+
+        // Act & Assert
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.update(1L, articleDto));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(articleSearchIndex, articleTitleIndex);
+    }
+
+    @Test
+    void givenTitleOfAnotherArticle_whenUpdate_thenBadRequestIsThrown() {
+
+        // Arrange
+        when(articleRepository.updateById(1L, "Test Title", null, "Test Content", null))
+                .thenThrow(violationOf("uk_articles_title"));
+        when(articleViolationTranslator.translate(any(), eq(1L), eq(articleDto)))
+                .thenReturn(ApiException.badRequest("Title already in use"));
 
         // Act & Assert
         ApiException exception = assertThrows(ApiException.class, () -> articleService.update(1L, articleDto));
         assertEquals("Title already in use", exception.getMessage());
-        verify(articleRepository, times(1)).findByTitle(articleDto.getTitle());
-        verify(articleRepository, never()).save(any(Article.class));
     }
 
     @Test
-    void givenArticlesExist_whenFindAll_thenArticlesAreReturned() {
+    void givenArticlesExist_whenFindAll_thenSummariesAreReturned() {
         // Arrange
-        Page<Article> page = new PageImpl<>(Arrays.asList(article));
-        when(articleRepository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(modelMapper.map(any(Article.class), eq(ArticleDto.class))).thenReturn(articleDto);
+        Slice<ArticleSummaryDto> slice = new SliceImpl<>(List.of(articleSummaryDto), PageRequest.of(0, 10), false);
+        when(articleRepository.findSummariesBy(any(PageRequest.class))).thenReturn(slice);
 
         // Act
-        ResponsePage<ArticleDto> responsePage = articleService.findAll(0, Sort.unsorted());
+        ResponsePage<ArticleSummaryDto> responsePage = articleService.findAll(0, Sort.unsorted());
 
         // Assert
         assertNotNull(responsePage);
+        assertEquals(List.of(articleSummaryDto), responsePage.getContent());
+        verify(articleRepository, times(1)).findSummariesBy(any(PageRequest.class));
+        verify(articleRepository, never()).findAll(any(PageRequest.class));
+        verifyNoInteractions(articleMapper);
+    }
+
+    @Test
+    void givenMoreArticles_whenFindSlice_thenHasNextWithoutTotals() {
+        // Arrange
+        Slice<ArticleSummaryDto> slice = new SliceImpl<>(List.of(articleSummaryDto), PageRequest.of(0, 10), true);
+        when(articleRepository.findSummariesBy(any(PageRequest.class))).thenReturn(slice);
+
+        // Act
+        ResponsePage<ArticleSummaryDto> responsePage = articleService.findSlice(0, Sort.unsorted());
+
+        // Assert
+        assertTrue(responsePage.getHasNext());
+        assertNull(responsePage.getTotalElements());
+        assertNull(responsePage.getTotalPages());
+        verifyNoInteractions(entityCountCache);
+    }
+
+    @Test
+    void givenCachedCount_whenFindAll_thenTotalsComeFromCache() {
+        // Arrange
+        Slice<ArticleSummaryDto> slice = new SliceImpl<>(List.of(articleSummaryDto), PageRequest.of(0, 10), true);
+        when(articleRepository.findSummariesBy(any(PageRequest.class))).thenReturn(slice);
+        when(entityCountCache.count(eq(Article.class), any())).thenReturn(42L);
+
+        // Act
+        ResponsePage<ArticleSummaryDto> responsePage = articleService.findAll(0, Sort.unsorted());
+
+        // Assert
+        assertEquals(42L, responsePage.getTotalElements());
+        assertEquals(5, responsePage.getTotalPages());
+        verify(articleRepository, never()).count();
+    }
+
+    @Test
+    void givenMoreArticles_whenFindAllByCursor_thenSummariesWithNextCursorAreReturned() {
+        // Arrange
+        Window<Article> window = Window.from(List.of(article),
+                index -> ScrollPosition.forward(Map.of("id", article.getId())), true);
+        when(articleRepository.findFirst10By(any(ScrollPosition.class), any(Sort.class))).thenReturn(window);
+        when(articleMapper.toSummary(article)).thenReturn(new ArticleSummaryDto(1L, "Test Title", null, null, 3, 0L));
+
+        // Act
+        ResponsePage<ArticleSummaryDto> responsePage = articleService.findAllByCursor("", Sort.unsorted());
+
+        // Assert
         assertEquals(1, responsePage.getContent().size());
-        assertEquals(articleDto, responsePage.getContent().get(0));
-        verify(articleRepository, times(1)).findAll(any(PageRequest.class));
-        verify(modelMapper, times(1)).map(any(Article.class), eq(ArticleDto.class));
+        assertEquals(article.getTitle(), responsePage.getContent().get(0).getTitle());
+        assertEquals(3L, responsePage.getContent().get(0).getCommentCount());
+        assertNotNull(responsePage.getNextCursor());
+        assertNull(responsePage.getTotalElements());
+    }
+
+    @Test
+    void givenIndexedArticles_whenSearch_thenSummariesAreReturnedInRankOrder() {
+        // Arrange
+        ArticleSummaryDto secondSummary = new ArticleSummaryDto(2L, "Java Streams", "Streams", null, 0, 0L);
+        when(articleSearchIndex.search("java", 10)).thenReturn(List.of(2L, 1L));
+        when(articleRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(articleSummaryDto, secondSummary));
+
+        // Act
+        List<ArticleSummaryDto> results = articleService.search("java", 10);
+
+        // Assert
+        assertEquals(List.of(secondSummary, articleSummaryDto), results);
+    }
+
+    @Test
+    void givenLimitAboveMaximum_whenSearch_thenLimitIsCapped() {
+        // Arrange
+        when(articleSearchIndex.search("java", 50)).thenReturn(List.of());
+
+        // Act
+        List<ArticleSummaryDto> results = articleService.search("java", 1000);
+
+        // Assert
+        assertTrue(results.isEmpty());
+        verify(articleRepository, never()).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    void givenBlankQuery_whenSearch_thenThrowsException() {
+        // Act & Assert
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.search("  ", 10));
+        assertEquals("Search query must not be empty", exception.getMessage());
+        verifyNoInteractions(articleSearchIndex);
+    }
+
+    @Test
+    void givenTrendingArticles_whenFindTrending_thenSummariesAreReturnedInTrendingOrder() {
+        // Arrange
+        ArticleSummaryDto secondSummary = new ArticleSummaryDto(2L, "Java Streams", "Streams", null, 0, 0L);
+        when(articleTrendingTracker.trending(10)).thenReturn(List.of(2L, 1L));
+        when(articleRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(articleSummaryDto, secondSummary));
+
+        // Act
+        List<ArticleSummaryDto> results = articleService.findTrending(10);
+
+        // Assert
+        assertEquals(List.of(secondSummary, articleSummaryDto), results);
+    }
+
+    @Test
+    void givenPrefix_whenSuggest_thenSuggestionsComeFromTitleIndex() {
+        // Arrange
+        List<ArticleSuggestionDto> suggestions = List.of(new ArticleSuggestionDto(1L, "Test Title"));
+        when(articleTitleIndex.suggest("te", 10)).thenReturn(suggestions);
+
+        // Act
+        List<ArticleSuggestionDto> results = articleService.suggest("te", 10);
+
+        // Assert
+        assertEquals(suggestions, results);
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void givenBlankPrefix_whenSuggest_thenNothingIsReturned() {
+        // Act
+        List<ArticleSuggestionDto> results = articleService.suggest(" ", 10);
+
+        // Assert
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(articleTitleIndex);
     }
 
     @Test
     void givenExistingArticleId_whenFindById_thenArticleIsReturned() {
         // Arrange
         when(articleRepository.findById(1L)).thenReturn(Optional.of(article));
-        when(modelMapper.map(any(Article.class), eq(ArticleDto.class))).thenReturn(articleDto);
+        when(articleMapper.toDto(any(Article.class))).thenReturn(articleDto);
 
         // Act
         ArticleDto foundArticle = articleService.findById(1L);
@@ -135,7 +367,34 @@ class ArticleServiceUnitTest {
         assertNotNull(foundArticle);
         assertEquals(1L, foundArticle.getId());
         verify(articleRepository, times(1)).findById(1L);
-        verify(modelMapper, times(1)).map(any(Article.class), eq(ArticleDto.class));
+        verify(articleMapper, times(1)).toDto(any(Article.class));
+    }
+
+    @Test
+    void givenExistingArticleId_whenViewById_thenViewIsRecordedAndCounted() {
+        // Arrange
+        article.setViewCount(10);
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(article));
+        when(articleMapper.toDto(any(Article.class))).thenReturn(articleDto);
+        when(articleViewCounter.pending(1L)).thenReturn(3L);
+
+        // Act
+        ArticleDto viewedArticle = articleService.viewById(1L);
+
+        // Assert
+        assertEquals(13, viewedArticle.getViewCount());
+        verify(articleViewCounter, times(1)).record(1L);
+        verify(articleTrendingTracker, times(1)).recordView(1L);
+    }
+
+    @Test
+    void givenNonExistingArticleId_whenViewById_thenThrowsExceptionWithoutRecording() {
+        // Arrange
+        when(articleRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ApiException.class, () -> articleService.viewById(1L));
+        verifyNoInteractions(articleViewCounter);
     }
 
     @Test
@@ -160,6 +419,10 @@ class ArticleServiceUnitTest {
         // Assert
         verify(articleRepository, times(1)).findById(1L);
         verify(articleRepository, times(1)).delete(any(Article.class));
+        verify(articleSearchIndex, times(1)).remove(1L);
+        verify(articleTitleIndex, times(1)).remove(1L);
+        verify(articleViewCounter, times(1)).discard(1L);
+        verify(articleTrendingTracker, times(1)).remove(1L);
     }
 
     @Test
@@ -172,5 +435,11 @@ class ArticleServiceUnitTest {
         assertEquals("Article not found", exception.getMessage());
         verify(articleRepository, times(1)).findById(1L);
         verify(articleRepository, never()).delete(any(Article.class));
+        verifyNoInteractions(articleSearchIndex);
+    }
+
+    private static DataIntegrityViolationException violationOf(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
     }
 }
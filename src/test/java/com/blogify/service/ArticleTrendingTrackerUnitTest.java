@@ -0,0 +1,93 @@
+package com.blogify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleTrendingTrackerUnitTest {
+
+    private static final long HALF_LIFE = TimeUnit.HOURS.toMillis(1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ArticleTrendingTracker tracker = new ArticleTrendingTracker(HALF_LIFE, now::get);
+
+    @Test
+    void givenViewsAndComments_whenTrending_thenCommentsWeighMore() {
+        tracker.recordView(1L);
+        tracker.recordView(1L);
+        tracker.recordComment(2L);
+        tracker.recordView(3L);
+
+        assertEquals(List.of(2L, 1L, 3L), tracker.trending(10));
+        assertEquals(List.of(2L), tracker.trending(1));
+    }
+
+    @Test
+    void givenOlderActivity_whenTrending_thenRecentActivityRanksFirst() {
+        tracker.recordView(1L);
+        tracker.recordView(1L);
+        tracker.recordView(1L);
+        tracker.merge();
+
+        now.addAndGet(2 * HALF_LIFE);
+        tracker.recordView(2L);
+        tracker.recordView(2L);
+
+        // three views two half-lives ago are worth 0.75 of a view now
+        assertEquals(List.of(2L, 1L), tracker.trending(10));
+    }
+
+    @Test
+    void givenMoreArticlesThanCapacity_whenArticleOutsideTopGrows_thenItEntersTop() {
+        for (long articleId = 1; articleId <= ArticleTrendingTracker.CAPACITY; articleId++) {
+            tracker.recordView(articleId);
+            tracker.recordView(articleId);
+        }
+        tracker.recordView(500L);
+        assertFalse(tracker.trending(ArticleTrendingTracker.CAPACITY).contains(500L));
+
+        tracker.recordComment(500L);
+
+        assertEquals(500L, tracker.trending(1).get(0));
+        assertEquals(ArticleTrendingTracker.CAPACITY, tracker.trending(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void givenLongIdlePeriod_whenRecord_thenScoresAreRescaledWithoutOverflow() {
+        tracker.recordComment(1L);
+        tracker.merge();
+
+        now.addAndGet(100 * HALF_LIFE);
+        tracker.recordView(2L);
+        tracker.recordView(2L);
+
+        assertEquals(List.of(2L), tracker.trending(10));
+    }
+
+    @Test
+    void givenUnmergedActivity_whenTrending_thenItCountsAtTheTimeOfTheMerge() {
+        tracker.recordView(1L);
+        tracker.recordView(1L);
+        tracker.recordView(1L);
+
+        now.addAndGet(2 * HALF_LIFE);
+        tracker.recordView(2L);
+        tracker.recordView(2L);
+
+        assertEquals(List.of(1L, 2L), tracker.trending(10));
+    }
+
+    @Test
+    void givenRemovedArticle_whenTrending_thenArticleIsNotReturned() {
+        tracker.recordComment(1L);
+        tracker.recordView(2L);
+
+        tracker.remove(1L);
+
+        assertEquals(List.of(2L), tracker.trending(10));
+    }
+}
@@ -0,0 +1,88 @@
+package com.blogify.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleViewCounterUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ArticleViewCounter articleViewCounter;
+
+    @Test
+    void givenRecordedViews_whenPending_thenViewsAreCounted() {
+        articleViewCounter.record(1L);
+        articleViewCounter.record(1L);
+        articleViewCounter.record(2L);
+
+        assertEquals(2, articleViewCounter.pending(1L));
+        assertEquals(1, articleViewCounter.pending(2L));
+        assertEquals(0, articleViewCounter.pending(3L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenRecordedViews_whenFlush_thenOneBatchIsWrittenAndPendingIsCleared() {
+        // Arrange
+        articleViewCounter.record(1L);
+        articleViewCounter.record(1L);
+        articleViewCounter.record(2L);
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        articleViewCounter.flush();
+
+        // Assert
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertTrue(batch.getValue().stream().anyMatch(args -> args[0].equals(2L) && args[1].equals(1L)));
+        assertTrue(batch.getValue().stream().anyMatch(args -> args[0].equals(1L) && args[1].equals(2L)));
+        assertEquals(0, articleViewCounter.pending(1L));
+        assertEquals(0, articleViewCounter.pending(2L));
+    }
+
+    @Test
+    void givenNoViews_whenFlush_thenNothingIsWritten() {
+        articleViewCounter.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void givenFailingUpdate_whenFlush_thenViewsStayPending() {
+        // Arrange
+        articleViewCounter.record(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("down"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> articleViewCounter.flush());
+        assertEquals(1, articleViewCounter.pending(1L));
+    }
+
+    @Test
+    void givenDiscardedArticle_whenFlush_thenNothingIsWritten() {
+        articleViewCounter.record(1L);
+
+        articleViewCounter.discard(1L);
+        articleViewCounter.flush();
+
+        assertEquals(0, articleViewCounter.pending(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
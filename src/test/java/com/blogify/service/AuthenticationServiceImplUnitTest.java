@@ -4,23 +4,25 @@ import com.blogify.entity.Customer;
 import com.blogify.entity.Role;
 import com.blogify.entity.Token;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CustomerMapper;
 import com.blogify.payload.RegistrationRequest;
 import com.blogify.repository.CustomerRepository;
 import com.blogify.repository.RoleRepository;
 import com.blogify.repository.TokenRepository;
 import com.blogify.security.JwtService;
+import com.blogify.security.PrincipalCache;
 import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,11 +53,14 @@ class AuthenticationServiceImplUnitTest {
     private TokenRepository tokenRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private CustomerMapper customerMapper;
 
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private AuthenticationServiceImpl authenticationService;
 
@@ -102,7 +107,7 @@ class AuthenticationServiceImplUnitTest {
         given(userDetailsManager.userExists(registrationRequest.getEmail())).willReturn(false);
         given(roleRepository.findByName("ROLE_USER")).willReturn(Optional.of(userRole));
         given(passwordEncoder.encode(registrationRequest.getPassword())).willReturn("encodedPassword");
-        given(modelMapper.map(registrationRequest, Customer.class)).willReturn(customer);
+        given(customerMapper.fromRegistration(registrationRequest)).willReturn(customer);
         given(tokenRepository.save(any(Token.class))).willAnswer(invocation -> {
             Token savedToken = invocation.getArgument(0);
             savedToken.setToken("verificationCode");
@@ -156,4 +161,21 @@ class AuthenticationServiceImplUnitTest {
         then(roleRepository).should().findByName("ROLE_USER");
         then(customerRepository).shouldHaveNoInteractions();
     }
+
+    @Test
+    void givenValidActivationToken_whenActivate_thenEnableCustomerAndEvictCachedPrincipal() throws MessagingException {
+        // Given
+        token.setExpiresAt(LocalDateTime.now().plusMinutes(15));
+        given(tokenRepository.findByToken("verificationCode")).willReturn(Optional.of(token));
+        given(customerRepository.findById(customer.getId())).willReturn(Optional.of(customer));
+
+        // When
+        authenticationService.activate("verificationCode");
+
+        // Then
+        assertTrue(customer.isEnabled());
+        then(customerRepository).should().save(customer);
+        then(tokenRepository).should().delete(token);
+        then(principalCache).should().evict(customer.getEmail());
+    }
 }
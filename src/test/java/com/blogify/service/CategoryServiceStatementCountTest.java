@@ -0,0 +1,120 @@
+package com.blogify.service;
+
+import com.blogify.entity.Article;
+import com.blogify.entity.Category;
+import com.blogify.mapper.CategoryMapperImpl;
+import com.blogify.payload.ArticleSummaryDto;
+import com.blogify.payload.BatchResponse;
+import com.blogify.payload.CategoryDto;
+import com.blogify.payload.ResponsePage;
+import com.blogify.util.StatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CategoryService.class, EntityCountCache.class, CategoryMapperImpl.class, MergePatcher.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Sql(scripts = "classpath:sql/categories.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class CategoryServiceStatementCountTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        StatementCounter.reset();
+    }
+
+    @Test
+    void givenPageOfCategories_whenFindSlice_thenArticlesAreCountedInOneStatement() {
+        ResponsePage<CategoryDto> page = categoryService.findSlice(0, Sort.by("id"), false);
+
+        assertEquals(2, StatementCounter.count());
+        assertEquals(5, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(category -> category.getArticleCount() == 2));
+        assertTrue(page.getContent().stream().allMatch(category -> category.getArticles() == null));
+    }
+
+    @Test
+    void givenExpandArticles_whenFindSlice_thenArticlesAreCountedAndLoadedInOneStatementEach() {
+        ResponsePage<CategoryDto> page = categoryService.findSlice(0, Sort.by("id"), true);
+
+        assertEquals(3, StatementCounter.count());
+        CategoryDto technology = page.getContent().get(0);
+        assertEquals("Technology", technology.getName());
+        assertEquals(2, technology.getArticleCount());
+        assertEquals(List.of("Latest Tech Trends", "AI Innovations"),
+                     technology.getArticles().stream().map(ArticleSummaryDto::getTitle).toList());
+    }
+
+    @Test
+    void givenPageOfCategories_whenFindTaggedPage_thenTagOfLoadedPageEqualsConditionalTag() {
+        Sort sort = Sort.by("id");
+
+        for (boolean expandArticles : new boolean[]{false, true}) {
+            assertEquals(categoryService.findPageETag(0, sort, true, expandArticles),
+                         categoryService.findTaggedPage(0, sort, true, expandArticles).etag());
+            assertEquals(categoryService.findPageETag(0, sort, false, expandArticles),
+                         categoryService.findTaggedPage(0, sort, false, expandArticles).etag());
+        }
+    }
+
+    @Test
+    void givenCategory_whenFindTaggedById_thenTagOfLoadedCategoryEqualsConditionalTag() {
+        assertEquals(categoryService.findETag(1L, false), categoryService.findTaggedById(1L, false).etag());
+        assertEquals(categoryService.findETag(1L, true), categoryService.findTaggedById(1L, true).etag());
+    }
+
+    @Test
+    void givenLargeCategory_whenFindByIdWithArticles_thenFirstArticlesAndFullCount() {
+        Category technology = entityManager.getReference(Category.class, 1L);
+        for (int i = 0; i < 10; i++) {
+            Article article = new Article();
+            article.setTitle("Tech " + i);
+            article.setDescription("Description");
+            article.setContent("Content");
+            article.setCategory(technology);
+            entityManager.persist(article);
+        }
+        entityManager.flush();
+
+        CategoryDto category = categoryService.findById(1L, true);
+
+        assertEquals(12, category.getArticleCount());
+        assertEquals(10, category.getArticles().size());
+        assertEquals(List.of(1L, 2L), category.getArticles().stream().limit(2).map(ArticleSummaryDto::getId).toList());
+        assertEquals(categoryService.findETag(1L, true), categoryService.findTaggedById(1L, true).etag());
+    }
+
+    @Test
+    void givenCategoryWithoutArticles_whenFindAllById_thenCountIsZero() {
+        CategoryDto created = new CategoryDto();
+        created.setName("Empty");
+        Long id = categoryService.create(created).getId();
+        entityManager.flush();
+        StatementCounter.reset();
+
+        BatchResponse<CategoryDto> response = categoryService.findAllById(List.of(id, 1L), true);
+
+        assertEquals(3, StatementCounter.count());
+        assertEquals(0, response.getContent().get(0).getArticleCount());
+        assertTrue(response.getContent().get(0).getArticles().isEmpty());
+        assertEquals(2, response.getContent().get(1).getArticleCount());
+    }
+}
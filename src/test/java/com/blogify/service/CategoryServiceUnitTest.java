@@ -2,8 +2,10 @@ package com.blogify.service;
 
 import com.blogify.entity.Category;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CategoryMapper;
 import com.blogify.payload.CategoryDto;
 import com.blogify.payload.ResponsePage;
+import com.blogify.repository.ArticleRepository;
 import com.blogify.repository.CategoryRepository;
 import com.blogify.util.CategoryTestUtil;
 import org.junit.jupiter.api.Test;
@@ -11,10 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
@@ -31,7 +33,13 @@ class CategoryServiceUnitTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private EntityCountCache entityCountCache;
+
+    @Mock
+    private CategoryMapper categoryMapper;
 
     @InjectMocks
     private CategoryService categoryService;
@@ -67,7 +75,7 @@ class CategoryServiceUnitTest {
         CategoryDto categoryDto = CategoryTestUtil.toDto(category);
 
         when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
-        when(modelMapper.map(category, CategoryDto.class)).thenReturn(categoryDto);
+        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
 
         categoryService.findById(category.getId());
 
@@ -90,8 +98,8 @@ class CategoryServiceUnitTest {
         CategoryDto categoryDto = CategoryTestUtil.toDto(category);
 
         when(categoryRepository.save(any(Category.class))).thenReturn(category);
-        when(modelMapper.map(categoryDto, Category.class)).thenReturn(category);
-        when(modelMapper.map(category, CategoryDto.class)).thenReturn(categoryDto);
+        when(categoryMapper.toEntity(categoryDto)).thenReturn(category);
+        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
 
         CategoryDto result = categoryService.create(categoryDto);
 
@@ -102,17 +110,29 @@ class CategoryServiceUnitTest {
     @Test
     void givenValidCategory_whenUpdate_thenCategoryIsUpdatedAndReturned() {
         Category category = CategoryTestUtil.generateDummyCategory();
+        category.setId(1L);
         CategoryDto newCategory = CategoryTestUtil.toDto(category);
 
+        when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
         when(categoryRepository.findByName(newCategory.getName())).thenReturn(Optional.empty());
-        when(categoryRepository.save(any(Category.class))).thenReturn(category);
-        when(modelMapper.map(newCategory, Category.class)).thenReturn(category);
-        when(modelMapper.map(category, CategoryDto.class)).thenReturn(newCategory);
+        when(categoryMapper.toDto(category)).thenReturn(newCategory);
 
         CategoryDto result = categoryService.update(category.getId(), newCategory);
 
         assertEquals(newCategory, result);
-        verify(categoryRepository, times(1)).save(category);
+        verify(categoryMapper, times(1)).updateEntity(newCategory, category);
+        verify(categoryRepository, never()).save(any());
+    }
+
+    @Test
+    void givenNotExistingCategory_whenUpdate_thenApiExceptionIsThrown() {
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class,
+                                              () -> categoryService.update(-1L, new CategoryDto()));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(categoryRepository, never()).save(any());
     }
 
     @Test
@@ -132,7 +152,7 @@ class CategoryServiceUnitTest {
     void givenNonExistingCategory_whenFindAll_thenReturnEmptyList() {
         // Arrange
         Page<Category> emptyPage = Page.empty(PageRequest.of(0, 10));
-        when(categoryRepository.findAll(any(PageRequest.class))).thenReturn(emptyPage);
+        when(categoryRepository.findAllBy(any(PageRequest.class))).thenReturn(emptyPage);
 
         // Act
         ResponsePage<CategoryDto> result = categoryService.findAll(0, Sort.unsorted());
@@ -143,7 +163,7 @@ class CategoryServiceUnitTest {
         assertEquals(0, result.getTotalElements());
         assertEquals(0, result.getTotalPages());
 
-        verify(categoryRepository, times(1)).findAll(any(PageRequest.class));
+        verify(categoryRepository, times(1)).findAllBy(any(PageRequest.class));
     }
 
 
@@ -154,11 +174,11 @@ class CategoryServiceUnitTest {
         category1.setId(1L);
         Category category2 = CategoryTestUtil.generateDummyCategory();
         category2.setId(2L);
-        Page<Category> categoryPage = new PageImpl<>(List.of(category1, category2), PageRequest.of(0, 1), 2);
+        Slice<Category> categoryPage = new SliceImpl<>(List.of(category1, category2), PageRequest.of(0, 10), false);
 
-        when(categoryRepository.findAll(any(PageRequest.class))).thenReturn(categoryPage);
-        when(modelMapper.map(category1, CategoryDto.class)).thenReturn(CategoryTestUtil.toDto(category1));
-        when(modelMapper.map(category2, CategoryDto.class)).thenReturn(CategoryTestUtil.toDto(category2));
+        when(categoryRepository.findAllBy(any(PageRequest.class))).thenReturn(categoryPage);
+        when(categoryMapper.toDto(category1)).thenReturn(CategoryTestUtil.toDto(category1));
+        when(categoryMapper.toDto(category2)).thenReturn(CategoryTestUtil.toDto(category2));
 
         // Act
         ResponsePage<CategoryDto> result = categoryService.findAll(0, Sort.unsorted());
@@ -167,9 +187,23 @@ class CategoryServiceUnitTest {
         assertEquals(2, result.getContent().size());
         assertEquals(0, result.getPage());
         assertEquals(2, result.getTotalElements());
-        assertEquals(2, result.getTotalPages());
+        assertEquals(1, result.getTotalPages());
+
+        verify(categoryRepository, times(1)).findAllBy(any(PageRequest.class));
+    }
 
-        verify(categoryRepository, times(1)).findAll(any(PageRequest.class));
+    @Test
+    void givenOnlyArticles_whenExpandsArticles_thenTrue() {
+        assertTrue(CategoryService.expandsArticles(List.of(CategoryService.EXPAND_ARTICLES)));
+        assertFalse(CategoryService.expandsArticles(null));
+        assertFalse(CategoryService.expandsArticles(List.of()));
     }
 
+    @Test
+    void givenUnknownProperty_whenExpandsArticles_thenBadRequest() {
+        ApiException exception = assertThrows(ApiException.class,
+                                              () -> CategoryService.expandsArticles(List.of("articles", "comments")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
 }
@@ -3,24 +3,35 @@ package com.blogify.service;
 import com.blogify.entity.Article;
 import com.blogify.entity.Comment;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CommentMapper;
 import com.blogify.payload.CommentDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.repository.ArticleRepository;
 import com.blogify.repository.CommentRepository;
 import com.blogify.util.ArticleTestUtil;
 import com.blogify.util.CommentTestUtil;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
-
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,52 +43,171 @@ class CommentServiceUnitTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private EntityCountCache entityCountCache;
+
     @Mock
     private ArticleRepository articleRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private CommentMapper commentMapper;
+
+    @Mock
+    private ArticleTrendingTracker articleTrendingTracker;
 
     @InjectMocks
     private CommentService commentService;
 
     @Test
-    void givenNewComment_whenCreate_thenRepositorySaveIsInvoked() {
+    void givenNewComment_whenCreate_thenCommentIsInsertedWithoutLookups() {
         CommentDto newCommentDto = CommentTestUtil.generateDummyCommentDto();
+        newCommentDto.setArticleId(2L);
         Comment newComment = CommentTestUtil.toEntity(newCommentDto);
+        Article article = ArticleTestUtil.generateDummyArticle();
 
-        when(commentRepository.save(any(Comment.class))).thenReturn(newComment);
-        when(modelMapper.map(newCommentDto, Comment.class)).thenReturn(newComment);
-        when(articleRepository.existsById(newCommentDto.getArticleId())).thenReturn(true);
+        when(commentMapper.toEntity(newCommentDto)).thenReturn(newComment);
+        when(articleRepository.getReferenceById(2L)).thenReturn(article);
+        when(commentRepository.saveAndFlush(newComment)).thenReturn(newComment);
 
         CommentDto createdComment = commentService.create(newCommentDto);
 
         assertEquals(newCommentDto, createdComment);
+        assertSame(article, newComment.getArticle());
 
-        verify(commentRepository, times(1)).save(newComment);
-        verify(articleRepository, times(1)).existsById(newCommentDto.getArticleId());
+        verify(commentRepository, times(1)).saveAndFlush(newComment);
+        verify(articleRepository, times(1)).adjustCommentCount(2L, 1);
+        verify(articleTrendingTracker, times(1)).recordComment(2L);
+        verify(articleRepository, never()).existsById(any());
+        verify(commentRepository, never()).findByFullNameAndArticleId(any(), any());
     }
 
     @Test
-    void givenExistingComment_whenUpdate_thenRepositorySaveIsInvoked() {
-        Comment existingComment = CommentTestUtil.generateDummyComment();
-        existingComment.setId(1L);
+    void givenRolledBackTransaction_whenCreate_thenTrendingIsUnchanged() {
+        CommentDto newCommentDto = CommentTestUtil.generateDummyCommentDto();
+        newCommentDto.setArticleId(2L);
+        Comment newComment = CommentTestUtil.toEntity(newCommentDto);
+
+        when(commentMapper.toEntity(newCommentDto)).thenReturn(newComment);
+        when(articleRepository.getReferenceById(2L)).thenReturn(ArticleTestUtil.generateDummyArticle());
+        when(commentRepository.saveAndFlush(newComment)).thenReturn(newComment);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            commentService.create(newCommentDto);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(articleTrendingTracker);
+    }
+
+    @Test
+    void givenDuplicateComment_whenCreate_thenBadRequestIsThrown() {
+        CommentDto newCommentDto = CommentTestUtil.generateDummyCommentDto();
+        newCommentDto.setArticleId(2L);
+        Comment newComment = CommentTestUtil.toEntity(newCommentDto);
+
+        when(commentMapper.toEntity(newCommentDto)).thenReturn(newComment);
+        when(commentRepository.saveAndFlush(newComment)).thenThrow(violationOf("PUBLIC.UK_COMMENTS_FULL_NAME_ARTICLE_ID_INDEX_E"));
+
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.create(newCommentDto));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("You already posted comment for this Article", exception.getMessage());
+        verify(articleRepository, never()).adjustCommentCount(any(), anyLong());
+        verifyNoInteractions(articleTrendingTracker);
+    }
+
+    @Test
+    void givenMissingArticle_whenCreate_thenNotFoundIsThrown() {
+        CommentDto newCommentDto = CommentTestUtil.generateDummyCommentDto();
+        newCommentDto.setArticleId(2L);
+        Comment newComment = CommentTestUtil.toEntity(newCommentDto);
 
+        when(commentMapper.toEntity(newCommentDto)).thenReturn(newComment);
+        when(commentRepository.saveAndFlush(newComment)).thenThrow(violationOf("fk_comments_article_id"));
+
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.create(newCommentDto));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Article not found", exception.getMessage());
+    }
+
+    @Test
+    void givenExistingComment_whenUpdate_thenSingleUpdateIsExecuted() {
         CommentDto updatedCommentDto = CommentTestUtil.generateDummyCommentDto();
-        updatedCommentDto.setId(1L);
+        updatedCommentDto.setArticleId(2L);
 
-        when(commentRepository.existsById(existingComment.getId())).thenReturn(true);
-        when(commentRepository.save(any(Comment.class))).thenReturn(existingComment);
-        when(modelMapper.map(updatedCommentDto, Comment.class)).thenReturn(existingComment);
-        when(articleRepository.existsById(updatedCommentDto.getArticleId())).thenReturn(true);
+        when(commentRepository.findArticleIdById(1L)).thenReturn(Optional.of(2L));
+        when(commentRepository.updateByIdAndArticleId(1L, 2L, updatedCommentDto.getContent(),
+                                                      updatedCommentDto.getFullName(), 2L))
+                .thenReturn(1);
 
-        CommentDto updatedComment = commentService.update(existingComment.getId(), updatedCommentDto);
+        CommentDto updatedComment = commentService.update(1L, updatedCommentDto);
 
-        assertEquals(updatedCommentDto, updatedComment);
+        assertEquals(1L, updatedComment.getId());
+        verify(commentRepository, never()).existsById(any());
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(articleRepository);
+    }
 
-        verify(commentRepository, times(1)).existsById(existingComment.getId());
-        verify(commentRepository, times(1)).save(existingComment);
-        verify(articleRepository, times(1)).existsById(updatedCommentDto.getArticleId());
+    @Test
+    void givenCommentMovedToAnotherArticle_whenUpdate_thenBothCommentCountsAreAdjusted() {
+        CommentDto updatedCommentDto = CommentTestUtil.generateDummyCommentDto();
+        updatedCommentDto.setArticleId(2L);
+
+        when(commentRepository.findArticleIdById(1L)).thenReturn(Optional.of(1L));
+        when(commentRepository.updateByIdAndArticleId(1L, 1L, updatedCommentDto.getContent(),
+                                                      updatedCommentDto.getFullName(), 2L))
+                .thenReturn(1);
+
+        commentService.update(1L, updatedCommentDto);
+
+        verify(articleRepository, times(1)).adjustCommentCount(1L, -1);
+        verify(articleRepository, times(1)).adjustCommentCount(2L, 1);
+    }
+
+    @Test
+    void givenCommentMovedMeanwhile_whenUpdate_thenConflictWithoutAdjustingCounts() {
+        CommentDto updatedCommentDto = CommentTestUtil.generateDummyCommentDto();
+        updatedCommentDto.setArticleId(2L);
+
+        when(commentRepository.findArticleIdById(1L)).thenReturn(Optional.of(1L));
+        when(commentRepository.updateByIdAndArticleId(any(), any(), any(), any(), any())).thenReturn(0);
+        when(commentRepository.findVersionById(1L)).thenReturn(Optional.of(1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> commentService.update(1L, updatedCommentDto));
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void givenCommentDeletedMeanwhile_whenUpdate_thenNotFoundWithoutAdjustingCounts() {
+        CommentDto updatedCommentDto = CommentTestUtil.generateDummyCommentDto();
+        updatedCommentDto.setArticleId(2L);
+
+        when(commentRepository.findArticleIdById(1L)).thenReturn(Optional.of(1L));
+        when(commentRepository.updateByIdAndArticleId(any(), any(), any(), any(), any())).thenReturn(0);
+        when(commentRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.update(1L, updatedCommentDto));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void givenNonExistingComment_whenUpdate_thenNotFoundIsThrown() {
+        CommentDto updatedCommentDto = CommentTestUtil.generateDummyCommentDto();
+
+        when(commentRepository.findArticleIdById(1L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.update(1L, updatedCommentDto));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(commentRepository, never()).updateByIdAndArticleId(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -87,7 +217,7 @@ class CommentServiceUnitTest {
         CommentDto commentDto = CommentTestUtil.toDto(existingComment);
 
         when(commentRepository.findById(existingComment.getId())).thenReturn(Optional.of(existingComment));
-        when(modelMapper.map(existingComment, CommentDto.class)).thenReturn(commentDto);
+        when(commentMapper.toDto(existingComment)).thenReturn(commentDto);
 
         CommentDto foundComment = commentService.findById(existingComment.getId());
 
@@ -110,6 +240,8 @@ class CommentServiceUnitTest {
     void givenExistingComment_whenDeleteById_thenRepositoryDeleteIsInvoked() {
         Comment existingComment = CommentTestUtil.generateDummyComment();
         existingComment.setId(1L);
+        existingComment.setArticle(ArticleTestUtil.generateDummyArticle());
+        existingComment.getArticle().setId(2L);
 
         when(commentRepository.findById(existingComment.getId())).thenReturn(Optional.of(existingComment));
 
@@ -117,6 +249,7 @@ class CommentServiceUnitTest {
 
         verify(commentRepository, times(1)).findById(existingComment.getId());
         verify(commentRepository, times(1)).delete(existingComment);
+        verify(articleRepository, times(1)).adjustCommentCount(existingComment.getArticle().getId(), -1);
     }
 
     @Test
@@ -137,8 +270,8 @@ class CommentServiceUnitTest {
         CommentDto commentDto = CommentTestUtil.toDto(existingComment);
         Page<Comment> commentPage = new PageImpl<>(List.of(existingComment), PageRequest.of(0, CommentService.PAGE_SIZE), 1);
 
-        when(commentRepository.findAll(any(PageRequest.class))).thenReturn(commentPage);
-        when(modelMapper.map(existingComment, CommentDto.class)).thenReturn(commentDto);
+        when(commentRepository.findAllBy(any(PageRequest.class))).thenReturn(commentPage);
+        when(commentMapper.toDto(existingComment)).thenReturn(commentDto);
 
         // Act
         ResponsePage<CommentDto> responsePage = commentService.findAll(0, Sort.unsorted());
@@ -147,8 +280,41 @@ class CommentServiceUnitTest {
         assertNotNull(responsePage);
         assertEquals(1, responsePage.getContent().size());
         assertEquals(commentDto, responsePage.getContent().get(0));
-        verify(commentRepository, times(1)).findAll(any(PageRequest.class));
-        verify(modelMapper, times(1)).map(existingComment, CommentDto.class);
+        verify(commentRepository, times(1)).findAllBy(any(PageRequest.class));
+        verify(commentMapper, times(1)).toDto(existingComment);
+    }
+
+
+    @Test
+    void givenArticleWithComments_whenFindAllByArticle_thenCommentWindowIsReturned() {
+        Comment comment = CommentTestUtil.generateDummyComment();
+        CommentDto commentDto = CommentTestUtil.toDto(comment);
+        Window<Comment> window = Window.from(List.of(comment),
+                index -> ScrollPosition.forward(Map.of("id", comment.getId())), true);
+
+        when(articleRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findFirst10ByArticleId(eq(1L), any(ScrollPosition.class), eq(Sort.by("id"))))
+                .thenReturn(window);
+        when(commentMapper.toDto(comment)).thenReturn(commentDto);
+
+        ResponsePage<CommentDto> responsePage = commentService.findAllByArticle(1L, null);
+
+        assertEquals(List.of(commentDto), responsePage.getContent());
+        assertNotNull(responsePage.getNextCursor());
+        verify(commentRepository, never()).findAllBy(any());
+    }
+
+    @Test
+    void givenNonExistingArticle_whenFindAllByArticle_thenThrowsException() {
+        when(articleRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ApiException.class, () -> commentService.findAllByArticle(1L, null));
+
+        verify(commentRepository, never()).findFirst10ByArticleId(any(), any(), any());
     }
 
+    private static DataIntegrityViolationException violationOf(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
 }
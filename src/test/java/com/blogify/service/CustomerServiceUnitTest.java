@@ -2,26 +2,34 @@ package com.blogify.service;
 
 import com.blogify.entity.Customer;
 import com.blogify.exception.ApiException;
+import com.blogify.mapper.CustomerMapper;
 import com.blogify.payload.CustomerDto;
 import com.blogify.payload.ResponsePage;
 import com.blogify.repository.CustomerRepository;
+import com.blogify.security.PrincipalCache;
+import com.blogify.security.RevokedPrincipalRegistry;
 import com.blogify.util.CustomerTestUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +38,23 @@ class CustomerServiceUnitTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private EntityCountCache entityCountCache;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private ModelMapper modelMapper;
+    private CustomerMapper customerMapper;
+
+    @Mock
+    private RevokedPrincipalRegistry revokedPrincipalRegistry;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private MergePatcher mergePatcher;
 
     @InjectMocks
     private CustomerService customerService;
@@ -51,6 +71,8 @@ class CustomerServiceUnitTest {
 
         verify(customerRepository, times(1)).findById(customer.getId());
         verify(customerRepository, times(1)).delete(customer);
+        verify(revokedPrincipalRegistry, times(1)).revoke(customer.getEmail());
+        verify(principalCache, times(1)).evict(customer.getEmail());
     }
 
     @Test
@@ -71,7 +93,7 @@ class CustomerServiceUnitTest {
         CustomerDto customerDto = CustomerTestUtil.toDto(customer);
 
         when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
-        when(modelMapper.map(customer, CustomerDto.class)).thenReturn(customerDto);
+        when(customerMapper.toDto(customer)).thenReturn(customerDto);
 
         customerService.findById(customer.getId());
 
@@ -101,7 +123,7 @@ class CustomerServiceUnitTest {
 
         when(customerRepository.findById(existingCustomer.getId())).thenReturn(Optional.of(existingCustomer));
         when(passwordEncoder.encode(newCustomer.getPassword())).thenReturn("{bcrypt}" +rawPassword);
-        when(modelMapper.map(customerDto, Customer.class)).thenReturn(newCustomer);
+        when(customerMapper.toEntity(customerDto)).thenReturn(newCustomer);
 
         customerService.update(existingCustomer.getId(), customerDto);
 
@@ -125,7 +147,7 @@ class CustomerServiceUnitTest {
         CustomerDto customerDto = CustomerTestUtil.toDto(newCustomer);
 
         when(customerRepository.findById(existingCustomer.getId())).thenReturn(Optional.of(existingCustomer));
-        when(modelMapper.map(customerDto, Customer.class)).thenReturn(newCustomer);
+        when(customerMapper.toEntity(customerDto)).thenReturn(newCustomer);
 
         customerService.update(existingCustomer.getId(), customerDto);
 
@@ -148,6 +170,76 @@ class CustomerServiceUnitTest {
         verifyNoInteractions(passwordEncoder);
     }
 
+    @Test
+    void givenPasswordPatch_whenPatch_thenOnlyEncodedPasswordIsSetAndTokensAreRevoked() {
+        Customer customer = CustomerTestUtil.generateDummyCustomer();
+        CustomerDto patchedCustomer = CustomerTestUtil.toDto(customer);
+        patchedCustomer.setPassword("newPassword");
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("password", "newPassword");
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerMapper.toDto(customer)).thenReturn(CustomerTestUtil.toDto(customer));
+        when(mergePatcher.apply(eq(patch), any(CustomerDto.class), anySet())).thenReturn(patchedCustomer);
+        when(passwordEncoder.encode("newPassword")).thenReturn("encoded");
+
+        CustomerDto result = customerService.patch(1L, patch);
+
+        assertEquals("encoded", customer.getPassword());
+        assertNull(result.getPassword());
+        verify(customerMapper, times(1)).updateEntity(patchedCustomer, customer);
+        verify(customerRepository, never()).findByEmail(any());
+        verify(customerRepository, never()).save(any());
+        verify(revokedPrincipalRegistry, times(1)).revoke(customer.getEmail());
+        verify(principalCache, times(1)).evict(customer.getEmail());
+    }
+
+    @Test
+    void givenActiveTransaction_whenPatch_thenPrincipalIsEvictedAfterCommit() {
+        Customer customer = CustomerTestUtil.generateDummyCustomer();
+        CustomerDto patchedCustomer = CustomerTestUtil.toDto(customer);
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("firstName", "Jane");
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerMapper.toDto(customer)).thenReturn(CustomerTestUtil.toDto(customer));
+        when(mergePatcher.apply(eq(patch), any(CustomerDto.class), anySet())).thenReturn(patchedCustomer);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            customerService.patch(1L, patch);
+
+            verifyNoInteractions(revokedPrincipalRegistry, principalCache);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(revokedPrincipalRegistry, times(1)).revoke(customer.getEmail());
+        verify(principalCache, times(1)).evict(customer.getEmail());
+    }
+
+    @Test
+    void givenEmailOfAnotherCustomer_whenPatch_thenApiExceptionIsThrown() {
+        Customer customer = CustomerTestUtil.generateDummyCustomer();
+        Customer otherCustomer = CustomerTestUtil.generateDummyCustomer();
+        otherCustomer.setId(2L);
+        otherCustomer.setEmail("jane@doe.com");
+        CustomerDto patchedCustomer = CustomerTestUtil.toDto(customer);
+        patchedCustomer.setEmail("jane@doe.com");
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("email", "jane@doe.com");
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerMapper.toDto(customer)).thenReturn(CustomerTestUtil.toDto(customer));
+        when(mergePatcher.apply(eq(patch), any(CustomerDto.class), anySet())).thenReturn(patchedCustomer);
+        when(customerRepository.findByEmail("jane@doe.com")).thenReturn(Optional.of(otherCustomer));
+
+        ApiException exception = assertThrows(ApiException.class, () -> customerService.patch(1L, patch));
+
+        assertEquals("Email already in use", exception.getMessage());
+        verify(customerMapper, never()).updateEntity(any(), any());
+        verifyNoInteractions(revokedPrincipalRegistry);
+    }
+
     @Test
     void givenCustomersExist_whenFindAll_thenReturnResponsePageOfCustomerDtos() {
         // Arrange
@@ -157,8 +249,8 @@ class CustomerServiceUnitTest {
         CustomerDto customerDto = CustomerTestUtil.toDto(customer);
 
         Page<Customer> customerPage = new PageImpl<>(List.of(customer), PageRequest.of(0, 10), 1);
-        when(customerRepository.findAll(any(PageRequest.class))).thenReturn(customerPage);
-        when(modelMapper.map(customer, CustomerDto.class)).thenReturn(customerDto);
+        when(customerRepository.findAllBy(any(PageRequest.class))).thenReturn(customerPage);
+        when(customerMapper.toDto(customer)).thenReturn(customerDto);
 
         // Act
         ResponsePage<CustomerDto> responsePage = customerService.findAll(0, Sort.unsorted());
@@ -171,8 +263,8 @@ class CustomerServiceUnitTest {
         assertEquals(10, responsePage.getPageSize());
         assertEquals(1, responsePage.getTotalElements());
         assertEquals(1, responsePage.getTotalPages());
-        verify(customerRepository, times(1)).findAll(any(PageRequest.class));
-        verify(modelMapper, times(1)).map(customer, CustomerDto.class);
+        verify(customerRepository, times(1)).findAllBy(any(PageRequest.class));
+        verify(customerMapper, times(1)).toDto(customer);
     }
 
 }
\ No newline at end of file
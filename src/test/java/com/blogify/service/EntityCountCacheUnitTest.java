@@ -0,0 +1,32 @@
+package com.blogify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EntityCountCacheUnitTest {
+
+    private final EntityCountCache entityCountCache = new EntityCountCache();
+
+    @Test
+    void givenCachedCount_whenCount_thenCounterIsNotQueriedAgain() {
+        AtomicLong queries = new AtomicLong();
+
+        assertEquals(1, entityCountCache.count(String.class, queries::incrementAndGet));
+        assertEquals(1, entityCountCache.count(String.class, queries::incrementAndGet));
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void givenCachedCount_whenRefresh_thenCountIsReloaded() {
+        AtomicLong rows = new AtomicLong(5);
+        entityCountCache.count(String.class, rows::get);
+
+        rows.set(7);
+        entityCountCache.refresh();
+
+        assertEquals(7, entityCountCache.count(String.class, rows::get));
+    }
+}
@@ -0,0 +1,91 @@
+package com.blogify.service;
+
+import com.blogify.exception.ApiException;
+import com.blogify.payload.ArticleExportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(EntityExporter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Sql(scripts = "classpath:sql/articles.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class EntityExporterTest {
+
+    @Autowired
+    private EntityExporter entityExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenArticles_whenExportAsNdjson_thenOneArticlePerLineInIdOrder() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        entityExporter.exportArticles(EntityExporter.Format.NDJSON, output);
+
+        List<String> lines = lines(output);
+        assertEquals(10, lines.size());
+        ArticleExportDto first = objectMapper.readValue(lines.get(0), ArticleExportDto.class);
+        assertEquals(1L, first.getId());
+        assertEquals("Introduction to Java", first.getTitle());
+        assertEquals(1, first.getCommentCount());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i + 1, objectMapper.readTree(lines.get(i)).get("id").asLong());
+        }
+    }
+
+    @Test
+    void givenArticles_whenExportAsCsv_thenHeaderAndQuotedRows() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        entityExporter.exportArticles(EntityExporter.Format.CSV, output);
+
+        List<String> lines = lines(output);
+        assertEquals(11, lines.size());
+        assertEquals("id,title,description,content,categoryId,viewCount,commentCount", lines.get(0));
+        assertTrue(lines.get(2).startsWith("2,\"Spring Boot Overview\","));
+        assertTrue(lines.get(2).contains("that you can \"\"just run\"\".\""));
+    }
+
+    @Test
+    void givenComments_whenExportAsCsv_thenOneRowPerComment() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        entityExporter.exportComments(EntityExporter.Format.CSV, output);
+
+        List<String> lines = lines(output);
+        assertEquals(11, lines.size());
+        assertEquals("id,articleId,fullName,content", lines.get(0));
+        assertEquals("1,1,\"John Doe\",\"Great introduction to Java!\"", lines.get(1));
+    }
+
+    @Test
+    void givenFormatName_whenOf_thenCaseIsIgnored() {
+        assertEquals(EntityExporter.Format.CSV, EntityExporter.Format.of("csv"));
+        assertEquals(EntityExporter.Format.NDJSON, EntityExporter.Format.of("NDJSON"));
+    }
+
+    @Test
+    void givenUnknownFormat_whenOf_thenBadRequest() {
+        ApiException exception = assertThrows(ApiException.class, () -> EntityExporter.Format.of("xml"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    private static List<String> lines(ByteArrayOutputStream output) {
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,195 @@
+package com.blogify.service;
+
+import com.blogify.entity.Article;
+import com.blogify.entity.Comment;
+import com.blogify.exception.ApiException;
+import com.blogify.mapper.ArticleMapperImpl;
+import com.blogify.mapper.CommentMapperImpl;
+import com.blogify.payload.ArticleDto;
+import com.blogify.payload.ArticleImportReport;
+import com.blogify.payload.CommentDto;
+import com.blogify.repository.ArticleRepository;
+import com.blogify.repository.CommentRepository;
+import com.blogify.search.ArticleSearchIndex;
+import com.blogify.search.ArticleTitleIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// schemas created by ddl-auto before the constraints were named keep the names hibernate generated.
+// the constraints are recreated under such names, which commits in H2, so the test runs outside of a
+// transaction and recreates the named constraints afterwards
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CommentService.class, ArticleService.class, ArticleImporter.class, EntityCountCache.class, ArticleMapperImpl.class,
+         CommentMapperImpl.class, ArticleSearchIndex.class, ArticleTitleIndex.class, ArticleViewCounter.class,
+         ArticleTrendingTracker.class, MergePatcher.class, ArticleViolationTranslator.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class LegacyConstraintNamesTest {
+
+    // table, current name, legacy name, definition
+    private static final String[][] CONSTRAINTS = {
+            {"comments", Comment.UNIQUE_AUTHOR_PER_ARTICLE, "UKlq3ae2fpxm4ie0ejkqk3p1bc6",
+             "UNIQUE (full_name, article_id)"},
+            {"comments", Comment.ARTICLE_FOREIGN_KEY, "FKk4ib6syde10dalk7r7xdl0m5p",
+             "FOREIGN KEY (article_id) REFERENCES articles (id)"},
+            {"articles", Article.UNIQUE_TITLE, "UKsn2xgb0q9m4sfwx6g2fy5m0mr", "UNIQUE (title)"},
+            {"articles", Article.CATEGORY_FOREIGN_KEY, "FK3q2k8jmdv5xou8g4hg4ysxwk3",
+             "FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE SET NULL"}
+    };
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleImporter articleImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Article article;
+
+    @BeforeEach
+    void setUp() {
+        for (String[] constraint : CONSTRAINTS) {
+            recreate(constraint[0], constraint[1], constraint[2], constraint[3]);
+        }
+
+        article = new Article();
+        article.setTitle("Introduction to Java");
+        article.setDescription("A beginner's guide to Java programming");
+        article.setContent("Java is a high-level programming language.");
+        article = articleRepository.save(article);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        articleRepository.deleteAll();
+
+        for (String[] constraint : CONSTRAINTS) {
+            recreate(constraint[0], constraint[2], constraint[1], constraint[3]);
+        }
+    }
+
+    @Test
+    void givenSecondCommentBySameAuthor_whenCreate_thenBadRequest() {
+        commentService.create(comment(article.getId()));
+
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.create(comment(article.getId())));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("You already posted comment for this Article", exception.getMessage());
+    }
+
+    @Test
+    void givenMissingArticle_whenCreateComment_thenNotFound() {
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.create(comment(999L)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Article not found", exception.getMessage());
+    }
+
+    @Test
+    void givenMissingArticle_whenUpdateComment_thenNotFound() {
+        Long id = commentService.create(comment(article.getId())).getId();
+
+        ApiException exception = assertThrows(ApiException.class, () -> commentService.update(id, comment(999L)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    // a renamed constraint keeps the name of its index, which H2 reports on a violation
+    @Test
+    void givenTakenTitle_whenCreateArticle_thenBadRequest() {
+        ApiException exception = assertThrows(ApiException.class,
+                                               () -> articleService.create(article("Introduction to Java", null)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Title already in use", exception.getMessage());
+    }
+
+    @Test
+    void givenMissingCategory_whenUpdateArticle_thenNotFound() {
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.update(
+                article.getId(), article("Introduction to Java", 999L)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Category not found", exception.getMessage());
+    }
+
+    @Test
+    void givenTitleOfAnotherArticle_whenPatchArticle_thenBadRequest() {
+        Long id = articleService.create(article("Spring Boot Overview", null)).getId();
+
+        ApiException exception = assertThrows(ApiException.class, () -> articleService.patch(
+                id, objectMapper.readTree("{\"title\": \"Introduction to Java\"}")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Title already in use", exception.getMessage());
+    }
+
+    @Test
+    void givenRejectedLines_whenImportArticles_thenReasonsAreReported() throws Exception {
+        String body = String.join("\n",
+                                  objectMapper.writeValueAsString(article("Introduction to Java", null)),
+                                  objectMapper.writeValueAsString(article("Imported", 999L)));
+
+        ArticleImportReport report = articleImporter.importArticles(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, report.getImported());
+        assertEquals("Title already in use", report.getFailures().get(0).getMessage());
+        assertEquals("Category not found", report.getFailures().get(1).getMessage());
+    }
+
+    private void recreate(String table, String from, String to, String definition) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + from);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + to + " " + definition);
+    }
+
+    private static ArticleDto article(String title, Long categoryId) {
+        ArticleDto article = new ArticleDto();
+        article.setTitle(title);
+        article.setDescription("Description");
+        article.setContent("Content");
+        article.setCategoryId(categoryId);
+        return article;
+    }
+
+    private static CommentDto comment(Long articleId) {
+        CommentDto comment = new CommentDto();
+        comment.setFullName("Jane Doe");
+        comment.setContent("Great article");
+        comment.setArticleId(articleId);
+        return comment;
+    }
+}
@@ -0,0 +1,98 @@
+package com.blogify.service;
+
+import com.blogify.exception.ApiException;
+import com.blogify.payload.ArticleDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergePatcherTest {
+
+    private static final Set<String> PATCHABLE = Set.of("title", "description", "content", "categoryId");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MergePatcher mergePatcher;
+    private ArticleDto article;
+
+    @BeforeEach
+    void setUp() {
+        mergePatcher = new MergePatcher(objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+
+        article = new ArticleDto();
+        article.setId(1L);
+        article.setTitle("Title");
+        article.setDescription("Description");
+        article.setContent("Content");
+        article.setCategoryId(3L);
+    }
+
+    @Test
+    void givenPatchWithOneProperty_whenApply_thenOtherPropertiesAreKept() throws Exception {
+        ArticleDto patched = mergePatcher.apply(patch("{\"title\": \"New Title\"}"), article, PATCHABLE);
+
+        assertEquals("New Title", patched.getTitle());
+        assertEquals("Description", patched.getDescription());
+        assertEquals("Content", patched.getContent());
+        assertEquals(3L, patched.getCategoryId());
+        assertEquals(1L, patched.getId());
+    }
+
+    @Test
+    void givenNullProperty_whenApply_thenPropertyIsRemoved() throws Exception {
+        ArticleDto patched = mergePatcher.apply(patch("{\"categoryId\": null}"), article, PATCHABLE);
+
+        assertNull(patched.getCategoryId());
+    }
+
+    @Test
+    void givenNullRequiredProperty_whenApply_thenValidationFails() throws Exception {
+        JsonNode patch = patch("{\"content\": null}");
+
+        ConstraintViolationException exception = assertThrows(ConstraintViolationException.class,
+                                                              () -> mergePatcher.apply(patch, article, PATCHABLE));
+
+        assertTrue(exception.getConstraintViolations().stream()
+                           .allMatch(violation -> violation.getPropertyPath().toString().equals("content")));
+    }
+
+    @Test
+    void givenNotPatchableProperty_whenApply_thenBadRequest() throws Exception {
+        JsonNode patch = patch("{\"viewCount\": 100}");
+
+        ApiException exception = assertThrows(ApiException.class, () -> mergePatcher.apply(patch, article, PATCHABLE));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Property 'viewCount' cannot be patched", exception.getMessage());
+    }
+
+    @Test
+    void givenPatchThatIsNotAnObject_whenApply_thenBadRequest() throws Exception {
+        JsonNode patch = patch("[\"title\"]");
+
+        ApiException exception = assertThrows(ApiException.class, () -> mergePatcher.apply(patch, article, PATCHABLE));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void givenValueOfWrongType_whenApply_thenBadRequest() throws Exception {
+        JsonNode patch = patch("{\"categoryId\": \"none\"}");
+
+        ApiException exception = assertThrows(ApiException.class, () -> mergePatcher.apply(patch, article, PATCHABLE));
+
+        assertEquals("Patch does not match the resource", exception.getMessage());
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,86 @@
+package com.blogify.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagUtilTest {
+
+    @Test
+    void givenVersion_whenForVersion_thenQuotedVersion() {
+        assertEquals("\"3\"", ETagUtil.forVersion(3));
+    }
+
+    @Test
+    void givenRelatedRows_whenForVersion_thenVersionStaysReadableAndDigestFollowsRows() {
+        String etag = ETagUtil.forVersion(3, List.of(List.of(10L, 0L)));
+
+        assertTrue(etag.startsWith("\"3-"));
+        assertEquals(etag, ETagUtil.forVersion(3, List.of(List.of(10L, 0L))));
+        assertNotEquals(etag, ETagUtil.forVersion(3, List.of(List.of(10L, 1L))));
+    }
+
+    @Test
+    void givenRelatedRows_whenForWeakVersion_thenWeakTagWithSameVersionAndDigest() {
+        String etag = ETagUtil.forWeakVersion(3, List.of(List.of(10L, 0L)));
+
+        assertEquals("W/" + ETagUtil.forVersion(3, List.of(List.of(10L, 0L))), etag);
+        assertTrue(ETagUtil.matches(etag, etag));
+        assertTrue(ETagUtil.matches(etag.substring(2), etag));
+    }
+
+    @Test
+    void givenSameValidator_whenForContent_thenSameTag() {
+        assertEquals(ETagUtil.forContent(List.of(1L, 2L)), ETagUtil.forContent(List.of(1L, 2L)));
+        assertNotEquals(ETagUtil.forContent(List.of(1L, 2L)), ETagUtil.forContent(List.of(2L, 1L)));
+    }
+
+    @Test
+    void givenIfNoneMatch_whenMatches_thenWeakComparisonOverAllListedTags() {
+        String etag = ETagUtil.forVersion(3);
+
+        assertTrue(ETagUtil.matches("\"3\"", etag));
+        assertTrue(ETagUtil.matches("W/\"3\"", etag));
+        assertTrue(ETagUtil.matches("\"1\", \"3\"", etag));
+        assertTrue(ETagUtil.matches("*", etag));
+        assertFalse(ETagUtil.matches("\"2\"", etag));
+        assertFalse(ETagUtil.matches(null, etag));
+    }
+
+    @Test
+    void givenIfMatch_whenParseVersions_thenVersionsOfStrongTags() {
+        assertEquals(List.of(3L), ETagUtil.parseVersions("\"3\""));
+        assertEquals(List.of(3L, 4L), ETagUtil.parseVersions("\"3-0cc175b9c0f1b6a831c399e269772661\", \"4\""));
+        assertEquals(List.of(), ETagUtil.parseVersions("W/\"3\""));
+        assertEquals(List.of(), ETagUtil.parseVersions("\"0cc175b9c0f1b6a831c399e269772661\""));
+    }
+
+    @Test
+    void givenIfMatch_whenParseWeakVersions_thenVersionsOfWeakAndStrongTags() {
+        assertEquals(List.of(3L), ETagUtil.parseWeakVersions("W/\"3-0cc175b9c0f1b6a831c399e269772661\""));
+        assertEquals(List.of(3L, 4L), ETagUtil.parseWeakVersions("W/\"3\", \"4\""));
+        assertEquals(List.of(), ETagUtil.parseWeakVersions("W/\"0cc175b9c0f1b6a831c399e269772661\""));
+        assertNull(ETagUtil.parseWeakVersions("*"));
+    }
+
+    @Test
+    void givenNoIfMatchOrAnyTag_whenParseVersions_thenNoPrecondition() {
+        assertNull(ETagUtil.parseVersions(null));
+        assertNull(ETagUtil.parseVersions("*"));
+    }
+
+    @Test
+    void givenETag_whenNotModified_thenNoBodyAndRevalidationRequired() {
+        ResponseEntity<Object> response = ETagUtil.notModified("\"3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
+    }
+}
@@ -1,15 +1,29 @@
 package com.blogify.util;
 
+import com.blogify.entity.Article;
+import com.blogify.entity.Category;
+import com.blogify.entity.Comment;
 import com.blogify.entity.Customer;
+import com.blogify.exception.ApiException;
+import com.blogify.payload.BatchResponse;
+import com.blogify.payload.CategoryDto;
+import com.blogify.payload.ResponsePage;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class PageUtilTest {
 
@@ -41,4 +55,114 @@ class PageUtilTest {
                 Arguments.of(new String[]{"firstName", "lastName","desc", }, "firstName: DESC, lastName: DESC")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenIdAndIndexedProperties_whenParseSort_thenSortIsReturned() {
+        Sort sort = PageUtil.parseSort(new String[]{"id,desc", "email,asc"}, Customer.class);
+
+        assertEquals(Sort.by(Sort.Order.desc("id"), Sort.Order.asc("email")), sort);
+        assertEquals(Sort.by("fullName"), PageUtil.parseSort(new String[]{"fullName"}, Comment.class));
+        assertEquals(Sort.by("title"), PageUtil.parseSort(new String[]{"title"}, Article.class));
+        assertEquals(Sort.by(Sort.Direction.DESC, "viewCount"), PageUtil.parseSort(new String[]{"viewCount", "desc"}, Article.class));
+        assertEquals(Sort.by("name"), PageUtil.parseSort(new String[]{"name"}, Category.class));
+    }
+
+    @Test
+    void givenUnindexedProperty_whenParseSort_thenBadRequest() {
+        ApiException exception = assertThrows(ApiException.class,
+                () -> PageUtil.parseSort(new String[]{"content", "desc"}, Article.class));
+
+        assertEquals("Sorting by content is not supported, it is not indexed", exception.getMessage());
+    }
+
+    @Test
+    void givenUnknownOrAssociationProperty_whenParseSort_thenBadRequest() {
+        assertThrows(ApiException.class, () -> PageUtil.parseSort(new String[]{"invalid"}, Customer.class));
+        assertThrows(ApiException.class, () -> PageUtil.parseSort(new String[]{"article"}, Comment.class));
+    }
+
+    @Test
+    void givenSameExpression_whenParseSort_thenCachedSortIsReused() {
+        Sort first = PageUtil.parseSort(new String[]{"lastName", "firstName", "desc"}, Customer.class);
+        Sort second = PageUtil.parseSort(new String[]{"lastName", "firstName", "desc"}, Customer.class);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void givenWindowWithNext_whenToResponsePage_thenNextCursorDecodesToLastKeys() {
+        Sort sort = Sort.by("firstName");
+        Window<String> window = Window.from(List.of("John", "Jane"),
+                index -> ScrollPosition.forward(Map.of("firstName", index == 0 ? "John" : "Jane", "id", index + 1)),
+                true);
+
+        ResponsePage<String> page = PageUtil.toResponsePage(window, 10, String::toUpperCase);
+
+        assertEquals(List.of("JOHN", "JANE"), page.getContent());
+        assertNull(page.getTotalElements());
+        assertNotNull(page.getNextCursor());
+
+        ScrollPosition position = PageUtil.decodeCursor(page.getNextCursor(), sort, Customer.class);
+        assertInstanceOf(KeysetScrollPosition.class, position);
+        assertEquals(Map.of("firstName", "Jane", "id", 2L), ((KeysetScrollPosition) position).getKeys());
+    }
+
+    @Test
+    void givenLastWindow_whenToResponsePage_thenNoNextCursor() {
+        Window<String> window = Window.from(List.of("John"), index -> ScrollPosition.offset(index), false);
+
+        assertNull(PageUtil.toResponsePage(window, 10, String::toUpperCase).getNextCursor());
+    }
+
+    @Test
+    void givenEmptyCursor_whenDecodeCursor_thenInitialPosition() {
+        ScrollPosition position = PageUtil.decodeCursor("", Sort.by("firstName"), Customer.class);
+
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void givenMalformedCursor_whenDecodeCursor_thenBadRequest() {
+        assertThrows(ApiException.class, () -> PageUtil.decodeCursor("not-a-cursor", Sort.unsorted(), Customer.class));
+    }
+
+    @Test
+    void givenCursorForDifferentSort_whenDecodeCursor_thenBadRequest() {
+        Window<String> window = Window.from(List.of("John"),
+                index -> ScrollPosition.forward(Map.of("firstName", "John", "id", 1L)), true);
+        String cursor = PageUtil.toResponsePage(window, 10, String::toUpperCase).getNextCursor();
+
+        assertThrows(ApiException.class, () -> PageUtil.decodeCursor(cursor, Sort.by("lastName"), Customer.class));
+    }
+
+    @Test
+    void givenRepeatedAndNullIds_whenParseBatchIds_thenDistinctIdsInRequestedOrder() {
+        assertEquals(List.of(3L, 1L, 2L), PageUtil.parseBatchIds(Arrays.asList(3L, 1L, null, 3L, 2L)));
+    }
+
+    @Test
+    void givenNoIds_whenParseBatchIds_thenBadRequest() {
+        assertThrows(ApiException.class, () -> PageUtil.parseBatchIds(List.of()));
+        assertThrows(ApiException.class, () -> PageUtil.parseBatchIds(null));
+    }
+
+    @Test
+    void givenTooManyIds_whenParseBatchIds_thenBadRequest() {
+        List<Long> ids = LongStream.rangeClosed(1, PageUtil.MAX_BATCH_IDS + 1).boxed().toList();
+
+        assertThrows(ApiException.class, () -> PageUtil.parseBatchIds(ids));
+    }
+
+    @Test
+    void givenFoundInOtherOrder_whenToBatchResponse_thenRequestedOrderAndMissingIds() {
+        CategoryDto first = new CategoryDto("First", 0, null);
+        first.setId(1L);
+        CategoryDto third = new CategoryDto("Third", 0, null);
+        third.setId(3L);
+
+        BatchResponse<CategoryDto> response = PageUtil.toBatchResponse(List.of(3L, 2L, 1L), List.of(first, third));
+
+        assertEquals(List.of(third, first), response.getContent());
+        assertEquals(List.of(2L), response.getMissingIds());
+    }
+}
@@ -5,8 +5,6 @@ INSERT INTO categories (id, name) VALUES (3, 'Finance');
 INSERT INTO categories (id, name) VALUES (4, 'Education');
 INSERT INTO categories (id, name) VALUES (5, 'Lifestyle');
 
-ALTER TABLE categories ALTER COLUMN id RESTART WITH 6;
-
 -- Insert statements for Articles associated with Technology
 INSERT INTO articles (id, title, description, content, category_id) VALUES (1, 'Latest Tech Trends', 'An overview of the latest trends in technology.', 'Content about latest tech trends...', 1);
 INSERT INTO articles (id, title, description, content, category_id) VALUES (2, 'AI Innovations', 'Innovations in Artificial Intelligence.', 'Content about AI innovations...', 1);
@@ -25,6 +23,4 @@ INSERT INTO articles (id, title, description, content, category_id) VALUES (8, '
 
 -- Insert statements for Articles associated with Lifestyle
 INSERT INTO articles (id, title, description, content, category_id) VALUES (9, 'Travel on a Budget', 'How to travel without breaking the bank.', 'Content about budget travel...', 5);
-INSERT INTO articles (id, title, description, content, category_id) VALUES (10, 'Minimalist Living', 'Benefits of living a minimalist lifestyle.', 'Content about minimalist living...', 5);
-
-ALTER TABLE articles ALTER COLUMN id RESTART WITH 11;
\ No newline at end of file
+INSERT INTO articles (id, title, description, content, category_id) VALUES (10, 'Minimalist Living', 'Benefits of living a minimalist lifestyle.', 'Content about minimalist living...', 5);
\ No newline at end of file
@@ -9,8 +9,6 @@ INSERT INTO customers (id, email, password, first_name, last_name, enabled, acco
 INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (9, 'Julia.james@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Julia', 'James',1,1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 INSERT INTO customers (id, email, password, first_name, last_name, enabled, account_locked, created_date, updated_date) VALUES (10, 'julia.jacobs@example.com', '$2b$12$abcdefghijklnmnopqrstuvwxyz123456781234567890', 'Julia', 'Jacobs',1,1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 
-insert into customers_roles (customer_id, role_id) values (1,1);
-insert into customers_roles (customer_id, role_id) values (1,2);
-insert into customers_roles (customer_id, role_id) values (1,3);
-
-ALTER TABLE customers ALTER COLUMN id RESTART WITH 11;
+insert into customers_roles (customer_id, role_id) select 1, id from roles where name = 'ROLE_ADMIN';
+insert into customers_roles (customer_id, role_id) select 1, id from roles where name = 'ROLE_EDITOR';
+insert into customers_roles (customer_id, role_id) select 1, id from roles where name = 'ROLE_USER';